@@ -0,0 +1,22 @@
+#!/bin/sh
+# Unpack the Spring Boot fat jar into a flat classpath (application.jar + lib/*.jar).
+# CDS can only archive classes loaded from plain jars, not from jars nested inside the boot jar.
+# Usage: scripts/extract-app.sh target/todo-0.0.1-SNAPSHOT.jar <out-dir>
+set -eu
+
+JAR=$(cd "$(dirname "$1")" && pwd)/$(basename "$1")
+OUT=$2
+
+rm -rf "$OUT"
+mkdir -p "$OUT/unpacked"
+(cd "$OUT/unpacked" && jar xf "$JAR")
+mv "$OUT/unpacked/BOOT-INF/lib" "$OUT/lib"
+jar cf "$OUT/application.jar" -C "$OUT/unpacked/BOOT-INF/classes" .
+rm -rf "$OUT/unpacked"
+
+# explicit jar list: CDS rejects wildcard and directory classpath entries
+cd "$OUT"
+{
+  printf 'application.jar'
+  for lib in lib/*.jar; do printf ':%s' "$lib"; done
+} > classpath
@@ -0,0 +1,67 @@
+#!/bin/sh
+# Repeatable startup benchmark: launches the app several times per mode and reports
+#   startup  - "Started TodoApplication in X seconds" as logged by Spring Boot
+#   ttfr     - wall clock from process launch until the first HTTP response
+#
+# Build first:  ./mvnw -B -Pfast-startup -DskipTests package spring-boot:repackage
+# Usage:        scripts/startup-benchmark.sh [runs] [modes...]
+#   modes: jar (fat jar, reflection), aot (AOT initializers), aot-cds (AOT + class-data-sharing archive)
+# Database settings are taken from the environment (DB_URL, SPRING_PROFILES_ACTIVE, ...), so the
+# numbers reflect whatever profile the AOT build was made for (-Daot.profile, default "prod").
+set -eu
+
+cd "$(dirname "$0")/.."
+RUNS=${1:-5}
+[ $# -gt 0 ] && shift
+MODES=${*:-jar aot aot-cds}
+PORT=${BENCH_PORT:-18080}
+JAR=target/todo-0.0.1-SNAPSHOT.jar
+WORK=target/startup-bench
+MAIN=com.example.todo.TodoApplication
+
+[ -f "$JAR" ] || { echo "missing $JAR; build with -Pfast-startup package spring-boot:repackage first" >&2; exit 1; }
+scripts/extract-app.sh "$JAR" "$WORK/app"
+CP=$(cat "$WORK/app/classpath")
+
+now_ms() { echo $(( $(date +%s%N) / 1000000 )); }
+
+launch() {
+  case $1 in
+    jar) java -Dserver.port="$PORT" -jar "$JAR" ;;
+    aot) cd "$WORK/app" && exec java -Dserver.port="$PORT" -Dspring.aot.enabled=true -cp "$CP" $MAIN ;;
+    aot-cds) cd "$WORK/app" && exec java -Dserver.port="$PORT" -Dspring.aot.enabled=true \
+               -XX:SharedArchiveFile=app.jsa -Xlog:cds=off -cp "$CP" $MAIN ;;
+  esac
+}
+
+case " $MODES " in
+  *" aot-cds "*)
+    echo "training CDS archive..."
+    (cd "$WORK/app" && java -XX:ArchiveClassesAtExit=app.jsa -Dspring.context.exit=onRefresh \
+        -Dspring.aot.enabled=true -Dserver.port="$PORT" -cp "$CP" $MAIN > ../cds-training.log 2>&1) || true
+    [ -f "$WORK/app/app.jsa" ] || { echo "CDS training failed, see $WORK/cds-training.log" >&2; exit 1; }
+    ;;
+esac
+
+printf '%-8s %4s %12s %10s\n' mode run startup_s ttfr_ms
+for mode in $MODES; do
+  i=1
+  while [ "$i" -le "$RUNS" ]; do
+    log="$WORK/$mode-$i.log"
+    start=$(now_ms)
+    launch "$mode" > "$log" 2>&1 &
+    pid=$!
+    while ! curl -s -o /dev/null "http://localhost:$PORT/api/projects"; do
+      kill -0 "$pid" 2>/dev/null || { echo "$mode run $i died, see $log" >&2; exit 1; }
+      sleep 0.02
+    done
+    ttfr=$(( $(now_ms) - start ))
+    # the shell may fork java as a child instead of exec-ing it
+    pkill -P "$pid" 2>/dev/null || true
+    kill "$pid" 2>/dev/null || true
+    wait "$pid" 2>/dev/null || true
+    started=$(sed -n 's/.*Started TodoApplication in \([0-9.]*\) seconds.*/\1/p' "$log")
+    printf '%-8s %4s %12s %10s\n' "$mode" "$i" "$started" "$ttfr"
+    i=$((i + 1))
+  done
+done
@@ -0,0 +1,84 @@
+package com.example.todo.config;
+
+import com.example.todo.service.AvatarService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves data-URL avatars left in {@code users.avatar_url} into the avatar store. With Flyway on, V9 does this before
+ * V10 shrinks the column; with Flyway off ({@code ddl-auto: update}) nothing else would, so this also runs on every
+ * start. Converted rows no longer match, so once none are left it is a single query.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class AvatarBackfill implements ApplicationRunner {
+    private static final Logger log = LoggerFactory.getLogger(AvatarBackfill.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AvatarService avatarService;
+    private final int batchSize;
+
+    public AvatarBackfill(JdbcTemplate jdbcTemplate,
+                          AvatarService avatarService,
+                          @Value("${todo.backfill.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.avatarService = avatarService;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            moveDataUrls(jdbcTemplate, avatarService, batchSize);
+        } catch (UncheckedIOException e) {
+            // leave the rest for the next start rather than drop images the store could not take
+            log.warn("Could not move avatars to the blob store", e);
+        }
+    }
+
+    /**
+     * Replace every data URL with its store reference. Type and size are not checked (both were legal when the URL
+     * was saved); only payloads that do not decode are dropped, since they cannot be kept once the column shrinks.
+     * Stops with {@link UncheckedIOException} when the store cannot be written.
+     */
+    public static void moveDataUrls(JdbcTemplate jdbcTemplate, AvatarService avatarService, int batchSize) {
+        int moved = 0;
+        int dropped = 0;
+        while (true) {
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                    "SELECT id, avatar_url FROM users WHERE avatar_url LIKE 'data:%' ORDER BY id LIMIT ?", batchSize);
+            if (rows.isEmpty()) {
+                break;
+            }
+            List<Object[]> args = new ArrayList<>(rows.size());
+            for (Map<String, Object> row : rows) {
+                String reference;
+                try {
+                    reference = avatarService.storeLegacyDataUrl((String) row.get("avatar_url"));
+                    moved++;
+                } catch (IllegalArgumentException e) {
+                    log.warn("Dropping the avatar of user {}: {}", row.get("id"), e.getMessage());
+                    reference = null;
+                    dropped++;
+                }
+                args.add(new Object[]{reference, row.get("id")});
+            }
+            jdbcTemplate.batchUpdate("UPDATE users SET avatar_url = ? WHERE id = ?", args);
+        }
+        if (moved + dropped > 0) {
+            log.info("Moved {} avatars to the blob store, dropped {} that could not be decoded", moved, dropped);
+        }
+    }
+}
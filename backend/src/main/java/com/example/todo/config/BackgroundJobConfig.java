@@ -0,0 +1,25 @@
+package com.example.todo.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@EnableScheduling
+public class BackgroundJobConfig {
+
+    /**
+     * Single worker so only one bulk purge competes with user traffic at a time.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor purgeExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("purge-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+}
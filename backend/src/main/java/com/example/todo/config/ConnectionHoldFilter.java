@@ -0,0 +1,71 @@
+package com.example.todo.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records how long each request kept JDBC connections checked out, as {@code todo.request.connection.hold}
+ * tagged by method and URI pattern, and logs requests above {@code todo.metrics.connection-hold-warn-ms}.
+ * Runs first so the security chain's user lookup is included.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ConnectionHoldFilter extends OncePerRequestFilter {
+    private static final Logger log = LoggerFactory.getLogger(ConnectionHoldFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final long warnNanos;
+
+    public ConnectionHoldFilter(MeterRegistry meterRegistry,
+                                @Value("${todo.metrics.connection-hold-warn-ms:200}") long warnMillis) {
+        this.meterRegistry = meterRegistry;
+        this.warnNanos = TimeUnit.MILLISECONDS.toNanos(warnMillis);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        ConnectionHoldTracker.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ConnectionHoldTracker.Hold hold = ConnectionHoldTracker.end();
+            if (hold != null && hold.connections() > 0) {
+                record(request, hold);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, ConnectionHoldTracker.Hold hold) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        Timer.builder("todo.request.connection.hold")
+                .description("Time a request kept JDBC connections checked out")
+                .tags("method", request.getMethod(), "uri", uri)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry)
+                .record(hold.totalNanos(), TimeUnit.NANOSECONDS);
+        if (hold.leaked() > 0) {
+            log.warn("{} {} returned with {} connection(s) still checked out", request.getMethod(), uri, hold.leaked());
+        }
+        if (hold.totalNanos() > warnNanos) {
+            log.warn("{} {} held {} connection(s) for {} ms", request.getMethod(), uri, hold.connections(),
+                    Duration.ofNanos(hold.totalNanos()).toMillis());
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.todo.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Wraps the application {@code dataSource} so every connection handed out on a request thread adds the time
+ * between checkout and {@code close()} to that request's total; {@link ConnectionHoldFilter} reports it.
+ * Threads without a tracked request (schedulers, the purge worker) are not measured.
+ */
+@Component
+public class ConnectionHoldTracker implements BeanPostProcessor {
+    private static final ThreadLocal<Hold> CURRENT = new ThreadLocal<>();
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource) {
+            return new TrackingDataSource(dataSource);
+        }
+        return bean;
+    }
+
+    static void begin() {
+        CURRENT.set(new Hold());
+    }
+
+    /**
+     * Stop tracking; connections still open at this point are counted up to now.
+     */
+    static Hold end() {
+        Hold hold = CURRENT.get();
+        CURRENT.remove();
+        if (hold != null && hold.open > 0) {
+            hold.leaked = hold.open;
+            hold.totalNanos += (long) hold.open * System.nanoTime() - hold.openSinceSum;
+        }
+        return hold;
+    }
+
+    static final class Hold {
+        private long totalNanos;
+        private int connections;
+        private int open;
+        private int leaked;
+        private long openSinceSum;
+
+        long totalNanos() {
+            return totalNanos;
+        }
+
+        int connections() {
+            return connections;
+        }
+
+        int leaked() {
+            return leaked;
+        }
+    }
+
+    private static final class TrackingDataSource extends DelegatingDataSource {
+        private TrackingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return track(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return track(super.getConnection(username, password));
+        }
+
+        private static Connection track(Connection connection) {
+            Hold hold = CURRENT.get();
+            if (hold == null) {
+                return connection;
+            }
+            long since = System.nanoTime();
+            hold.connections++;
+            hold.open++;
+            hold.openSinceSum += since;
+            boolean[] closed = {false};
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        if ("close".equals(method.getName()) && !closed[0]) {
+                            closed[0] = true;
+                            // the request may have ended (and another begun) on this thread since checkout
+                            if (CURRENT.get() == hold) {
+                                hold.totalNanos += System.nanoTime() - since;
+                                hold.open--;
+                                hold.openSinceSum -= since;
+                            }
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+}
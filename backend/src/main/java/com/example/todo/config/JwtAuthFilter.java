@@ -1,6 +1,8 @@
 package com.example.todo.config;
 
+import com.example.todo.service.TokenRevocationService;
 import com.example.todo.service.UserDetailsServiceImpl;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -20,10 +22,13 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsServiceImpl userDetailsService;
+    private final TokenRevocationService revocationService;
 
-    public JwtAuthFilter(JwtService jwtService, UserDetailsServiceImpl userDetailsService) {
+    public JwtAuthFilter(JwtService jwtService, UserDetailsServiceImpl userDetailsService,
+                         TokenRevocationService revocationService) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
+        this.revocationService = revocationService;
     }
 
     @Override
@@ -31,12 +36,15 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
-            String username = null;
+            Claims claims = null;
             try {
-                username = jwtService.extractUsername(token);
+                claims = jwtService.parseClaims(token);
             } catch (Exception ignored) {
             }
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            String username = claims != null ? claims.getSubject() : null;
+            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null
+                    && !revocationService.isRevoked(claims.getId(), username,
+                    claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null)) {
                 var userDetails = userDetailsService.loadUserByUsername(username);
                 if (jwtService.isTokenValid(token, userDetails.getUsername())) {
                     UsernamePasswordAuthenticationToken authenticationToken =
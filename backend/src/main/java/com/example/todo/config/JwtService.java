@@ -8,11 +8,15 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.security.Key;
+import java.time.Duration;
 import java.util.Date;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Service
 public class JwtService {
+    public static final Duration TOKEN_LIFETIME = Duration.ofHours(24);
+
     private final Key key;
 
     public JwtService(@Value("${jwt.secret:change-me-please-change-me-1234567890}") String secret) {
@@ -28,16 +32,23 @@ public class JwtService {
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
-        return claimsResolver.apply(claims);
+        return claimsResolver.apply(parseClaims(token));
+    }
+
+    /**
+     * Verified claims of the token; throws for a bad signature or an expired token.
+     */
+    public Claims parseClaims(String token) {
+        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
     }
 
     public String generateToken(String username) {
         long now = System.currentTimeMillis();
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(username)
                 .setIssuedAt(new Date(now))
-                .setExpiration(new Date(now + 1000 * 60 * 60 * 24))
+                .setExpiration(new Date(now + TOKEN_LIFETIME.toMillis()))
                 .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
     }
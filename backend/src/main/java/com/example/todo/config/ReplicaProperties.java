@@ -0,0 +1,30 @@
+package com.example.todo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "todo.datasource.replicas")
+public class ReplicaProperties {
+    private boolean enabled = false;
+    private ReplicaRoutingDataSource.Balancing balancing = ReplicaRoutingDataSource.Balancing.ROUND_ROBIN;
+    /** How long a user's reads stay on the primary after they commit a write. */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+    private long healthCheckIntervalMs = 5000;
+    private int maximumPoolSize = 10;
+    private List<Node> nodes = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Node {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
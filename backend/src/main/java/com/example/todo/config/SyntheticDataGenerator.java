@@ -0,0 +1,466 @@
+package com.example.todo.config;
+
+import com.example.todo.service.AttachmentService;
+import com.example.todo.service.FractionalRank;
+import com.example.todo.service.TaskStatsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fills the database with a production-shaped dataset for load and query-plan testing. Enabled with the
+ * {@code datagen} profile and sized by {@code todo.datagen.*}:
+ * <pre>
+ *   java -jar todo.jar --spring.profiles.active=datagen --todo.datagen.users=10000 --todo.datagen.exit=true
+ * </pre>
+ * Every user, project and task is derived from {@code seed} and its own index, so the same settings produce the
+ * same rows whatever the thread count. Ids are numbered from the current maximum of each table, so they repeat only
+ * when generating into the same starting data (e.g. an empty database). Rows go straight through batched JDBC; on
+ * MySQL add {@code rewriteBatchedStatements=true} to the URL.
+ * <p>
+ * Runs once per seed: generated emails carry it. A dataset counts as complete only when all planned users and at
+ * least the planned number of tasks are present; otherwise (a run that died half way, or other settings) it is
+ * removed and generated again.
+ */
+@Component
+@Profile("datagen")
+public class SyntheticDataGenerator implements ApplicationRunner {
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+    private static final Duration HISTORY = Duration.ofDays(365);
+    /** Ids of the projects of generated users; takes the email pattern as its only parameter. */
+    private static final String GENERATED_PROJECTS =
+            "SELECT p.id FROM projects p JOIN users u ON u.id = p.user_id WHERE u.email LIKE ?";
+
+    private static final String[] VERBS = {"Review", "Fix", "Update", "Write", "Refactor", "Plan", "Test", "Deploy",
+            "Investigate", "Document", "Prepare", "Migrate", "Clean up", "Design", "Schedule", "Follow up on", "Draft",
+            "Benchmark", "Upgrade", "Triage"};
+    private static final String[] OBJECTS = {"the login page", "quarterly report", "billing service", "search index",
+            "onboarding checklist", "release notes", "API documentation", "database backups", "customer feedback",
+            "team offsite", "CI pipeline", "mobile layout", "invoice export", "password reset flow", "dashboard widgets",
+            "error logging", "cache settings", "budget spreadsheet", "vendor contract", "sprint backlog",
+            "notification emails", "dependency versions", "load balancer config", "user survey", "kanban board"};
+    private static final String[] QUALIFIERS = {"", "", "", " before Friday", " for the new client", " (follow-up)",
+            " in staging", " for v2", " with design team", " after the outage", " for Q3", " again"};
+    private static final String[] SENTENCES = {"Check the open comments from last week before starting.",
+            "The current version times out for large accounts.", "Coordinate with the backend team on the schema change.",
+            "Numbers should match the finance export.", "Keep the old behaviour behind a flag until rollout is done.",
+            "See the linked ticket for screenshots.", "Customers reported this twice in the last month.",
+            "Needs sign-off from the product owner.", "Low risk, but touches a lot of files.",
+            "Write down the steps so the next person does not have to rediscover them.",
+            "Measure before and after; we want at least a 20% improvement.", "Blocked until the vendor replies."};
+    private static final String[] TAGS = {"work", "urgent", "bug", "frontend", "backend", "meeting", "personal", "docs",
+            "ops", "design", "research", "finance", "hiring", "security", "performance", "customer", "release", "infra",
+            "mobile", "email", "review", "planning", "testing", "data", "legal", "marketing", "support", "travel",
+            "health", "home", "shopping", "learning", "reading", "ideas", "q1", "q2", "q3", "q4", "low-hanging-fruit",
+            "tech-debt", "someday", "waiting", "blocked", "quick-win", "api", "ui", "ux", "analytics", "billing", "sre"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final TaskStatsService statsService;
+    private final AttachmentService attachmentService;
+    private final ConfigurableApplicationContext context;
+
+    private final int users;
+    private final int projectsPerUser;
+    private final int tasksPerProject;
+    private final double taskSkew;
+    private final double archivedRatio;
+    private final int maxTagsPerTask;
+    private final long seed;
+    private final int batchSize;
+    private final int threads;
+    private final boolean events;
+    private final boolean exit;
+
+    private final double[] tagWeights = zipfCumulative(TAGS.length, 1.1);
+
+    public SyntheticDataGenerator(JdbcTemplate jdbcTemplate,
+                                  TransactionTemplate transactionTemplate,
+                                  PasswordEncoder passwordEncoder,
+                                  TaskStatsService statsService,
+                                  AttachmentService attachmentService,
+                                  ConfigurableApplicationContext context,
+                                  @Value("${todo.datagen.users:100}") int users,
+                                  @Value("${todo.datagen.projects-per-user:5}") int projectsPerUser,
+                                  @Value("${todo.datagen.tasks-per-project:200}") int tasksPerProject,
+                                  @Value("${todo.datagen.task-skew:1.5}") double taskSkew,
+                                  @Value("${todo.datagen.archived-ratio:0.1}") double archivedRatio,
+                                  @Value("${todo.datagen.max-tags-per-task:4}") int maxTagsPerTask,
+                                  @Value("${todo.datagen.seed:42}") long seed,
+                                  @Value("${todo.datagen.batch-size:5000}") int batchSize,
+                                  @Value("${todo.datagen.threads:0}") int threads,
+                                  @Value("${todo.datagen.events:true}") boolean events,
+                                  @Value("${todo.datagen.exit:false}") boolean exit) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.statsService = statsService;
+        this.attachmentService = attachmentService;
+        this.context = context;
+        this.users = users;
+        this.projectsPerUser = projectsPerUser;
+        this.tasksPerProject = tasksPerProject;
+        this.taskSkew = taskSkew;
+        this.archivedRatio = archivedRatio;
+        this.maxTagsPerTask = maxTagsPerTask;
+        this.seed = seed;
+        this.batchSize = batchSize;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.events = events;
+        this.exit = exit;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        String emailPrefix = "datagen-" + seed + "-";
+        int[][] taskCounts = plan();
+        long plannedTasks = Arrays.stream(taskCounts).flatMapToInt(Arrays::stream).asLongStream().sum();
+        long existingUsers = count("SELECT COUNT(*) FROM users WHERE email LIKE ?", emailPrefix);
+        long existingTasks = existingUsers == 0 ? 0
+                : count("SELECT COUNT(*) FROM tasks WHERE project_id IN (" + GENERATED_PROJECTS + ")", emailPrefix)
+                + count("SELECT COUNT(*) FROM tasks_archive WHERE project_id IN (" + GENERATED_PROJECTS + ")", emailPrefix);
+        // >=: load tests may have added tasks to the generated projects since
+        if (existingUsers == users && existingTasks >= plannedTasks) {
+            log.warn("Dataset for seed {} already exists, nothing generated", seed);
+            finish(emailPrefix);
+        } else {
+            if (existingUsers > 0) {
+                log.warn("Dataset for seed {} is incomplete ({} of {} users, {} of {} tasks), removing it",
+                        seed, existingUsers, users, existingTasks, plannedTasks);
+                remove(emailPrefix);
+            }
+            generate(emailPrefix, taskCounts, plannedTasks);
+        }
+        if (exit) {
+            System.exit(SpringApplication.exit(context, () -> 0));
+        }
+    }
+
+    /** Tasks per project of every user, fixed by the seed before any worker starts. */
+    private int[][] plan() {
+        int[][] taskCounts = new int[users][];
+        for (int u = 0; u < users; u++) {
+            SplittableRandom random = new SplittableRandom(mix(seed, u, -1));
+            taskCounts[u] = new int[projectsPerUser];
+            for (int p = 0; p < projectsPerUser; p++) {
+                taskCounts[u][p] = taskCount(random);
+            }
+        }
+        return taskCounts;
+    }
+
+    private void generate(String emailPrefix, int[][] taskCounts, long totalTasks) throws Exception {
+        long started = System.nanoTime();
+        Instant now = Instant.now();
+        long userBase = nextId("users");
+        long projectBase = nextId("projects");
+        long taskBase = Math.max(nextId("tasks"), nextId("tasks_archive"));
+        long[] userTaskBase = new long[users];
+        long next = taskBase;
+        for (int u = 0; u < users; u++) {
+            userTaskBase[u] = next;
+            next += Arrays.stream(taskCounts[u]).sum();
+        }
+        log.info("Generating {} users, {} projects, {} tasks (seed {}, {} threads)", users,
+                (long) users * projectsPerUser, totalTasks, seed, threads);
+
+        String password = passwordEncoder.encode("password");
+        List<Object[]> userRows = new ArrayList<>();
+        List<Object[]> projectRows = new ArrayList<>();
+        for (int u = 0; u < users; u++) {
+            SplittableRandom random = new SplittableRandom(mix(seed, u, -2));
+            Instant joined = now.minus(HISTORY).minusSeconds(random.nextLong(HISTORY.toSeconds()));
+            userRows.add(new Object[]{userBase + u, emailPrefix + u + "@example.test", password, "User " + u, "USER",
+                    Timestamp.from(joined)});
+            for (int p = 0; p < projectsPerUser; p++) {
+                String topic = OBJECTS[random.nextInt(OBJECTS.length)];
+                projectRows.add(new Object[]{projectBase + (long) u * projectsPerUser + p, userBase + u,
+                        "Project " + (p + 1) + ": " + topic, random.nextInt(3) == 0 ? null : "Everything about " + topic + ".",
+                        Timestamp.from(joined.plusSeconds(random.nextLong(Duration.ofDays(30).toSeconds())))});
+                if (projectRows.size() >= batchSize) {
+                    flushUsersAndProjects(userRows, projectRows);
+                }
+            }
+        }
+        flushUsersAndProjects(userRows, projectRows);
+
+        AtomicLong written = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int u = 0; u < users; u++) {
+                int user = u;
+                futures.add(executor.submit(() -> generateTasks(user, userBase + user,
+                        projectBase + (long) user * projectsPerUser, userTaskBase[user], taskCounts[user], now, written)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        finish(emailPrefix);
+        Duration took = Duration.ofNanos(System.nanoTime() - started);
+        log.info("Generated {} tasks in {} s ({} tasks/s)", written.get(), took.toSeconds(),
+                written.get() * 1000 / Math.max(1, took.toMillis()));
+    }
+
+    private void generateTasks(int user, long userId, long firstProjectId, long firstTaskId, int[] counts, Instant now,
+                               AtomicLong written) {
+        Batch batch = new Batch();
+        long taskId = firstTaskId;
+        for (int p = 0; p < counts.length; p++) {
+            SplittableRandom random = new SplittableRandom(mix(seed, user, p));
+            long projectId = firstProjectId + p;
+            List<String> ranks = FractionalRank.spread(counts[p]);
+            for (int i = 0; i < counts[p]; i++, taskId++) {
+                addTask(batch, random, taskId, projectId, userId, ranks.get(i), now);
+                if (batch.size() >= batchSize) {
+                    written.addAndGet(batch.flush());
+                }
+            }
+        }
+        written.addAndGet(batch.flush());
+    }
+
+    private void addTask(Batch batch, SplittableRandom random, long id, long projectId, long userId, String rank,
+                         Instant now) {
+        // recent work is denser than old work
+        double age = Math.pow(random.nextDouble(), 2);
+        Instant createdAt = now.minusSeconds((long) (age * HISTORY.toSeconds()));
+        Instant updatedAt = createdAt.plusSeconds(random.nextLong(Math.max(1, Duration.between(createdAt, now).toSeconds())));
+        boolean archived = random.nextDouble() < archivedRatio;
+        double s = random.nextDouble();
+        String status = archived ? (s < 0.8 ? "DONE" : "TODO") : s < 0.45 ? "DONE" : s < 0.65 ? "DOING" : "TODO";
+        double q = random.nextDouble();
+        String priority = q < 0.25 ? "LOW" : q < 0.70 ? "MEDIUM" : q < 0.92 ? "HIGH" : "CRITICAL";
+        Timestamp dueAt = null;
+        Timestamp remindAt = null;
+        if (random.nextDouble() < 0.7) {
+            Instant due = createdAt.plus(Duration.ofHours(1 + random.nextLong(24 * 60)));
+            dueAt = Timestamp.from(due);
+            if (random.nextDouble() < 0.2) {
+                remindAt = Timestamp.from(due.minus(Duration.ofDays(1)));
+            }
+        }
+        String title = VERBS[random.nextInt(VERBS.length)] + " " + OBJECTS[random.nextInt(OBJECTS.length)]
+                + QUALIFIERS[random.nextInt(QUALIFIERS.length)];
+        String description = null;
+        if (random.nextDouble() < 0.6) {
+            StringBuilder text = new StringBuilder();
+            for (int n = 1 + random.nextInt(3); n > 0; n--) {
+                text.append(text.isEmpty() ? "" : " ").append(SENTENCES[random.nextInt(SENTENCES.length)]);
+            }
+            description = text.toString();
+        }
+        String[] tags = tags(random);
+
+        if (archived) {
+            batch.archivedTasks.add(new Object[]{id, projectId, title, description, status, priority, dueAt, remindAt,
+                    Timestamp.from(createdAt), Timestamp.from(updatedAt), 0L, Timestamp.from(updatedAt)});
+            for (String tag : tags) {
+                batch.archivedTags.add(new Object[]{id, tag});
+            }
+        } else {
+            batch.tasks.add(new Object[]{id, projectId, userId, title, description, status, priority, dueAt, remindAt,
+                    false, Timestamp.from(createdAt), Timestamp.from(updatedAt), 0L, rank});
+            for (String tag : tags) {
+                batch.tags.add(new Object[]{id, tag});
+            }
+        }
+        if (events) {
+            batch.events.add(new Object[]{id, projectId, userId, null, "TODO", Timestamp.from(createdAt),
+                    Date.valueOf(LocalDate.ofInstant(createdAt, ZoneOffset.UTC))});
+            if (status.equals("DONE")) {
+                batch.events.add(new Object[]{id, projectId, userId, "TODO", "DONE", Timestamp.from(updatedAt),
+                        Date.valueOf(LocalDate.ofInstant(updatedAt, ZoneOffset.UTC))});
+            }
+        }
+    }
+
+    /** Distinct tags with Zipf-like popularity: a handful appear everywhere, most are rare. */
+    private String[] tags(SplittableRandom random) {
+        int count = random.nextInt(maxTagsPerTask + 1);
+        String[] tags = new String[count];
+        int n = 0;
+        for (int attempt = 0; n < count && attempt < count * 4; attempt++) {
+            int index = Arrays.binarySearch(tagWeights, random.nextDouble());
+            String tag = TAGS[Math.min(TAGS.length - 1, index >= 0 ? index : -index - 1)];
+            boolean seen = false;
+            for (int i = 0; i < n; i++) {
+                seen |= tags[i].equals(tag);
+            }
+            if (!seen) {
+                tags[n++] = tag;
+            }
+        }
+        return Arrays.copyOf(tags, n);
+    }
+
+    /** Pareto-distributed around {@code tasksPerProject} when {@code taskSkew > 1}, otherwise exactly that many. */
+    private int taskCount(SplittableRandom random) {
+        if (taskSkew <= 1) {
+            return tasksPerProject;
+        }
+        double pareto = Math.pow(1 - random.nextDouble(), -1 / taskSkew);
+        double scaled = tasksPerProject * (taskSkew - 1) / taskSkew * pareto;
+        return (int) Math.min(Math.round(scaled), 100L * tasksPerProject);
+    }
+
+    private void flushUsersAndProjects(List<Object[]> userRows, List<Object[]> projectRows) {
+        transactionTemplate.executeWithoutResult(s -> {
+            jdbcTemplate.batchUpdate("INSERT INTO users (id, email, password, display_name, role, created_at)"
+                    + " VALUES (?, ?, ?, ?, ?, ?)", userRows);
+            jdbcTemplate.batchUpdate("INSERT INTO projects (id, user_id, name, description, created_at, hidden)"
+                    + " VALUES (?, ?, ?, ?, ?, FALSE)", projectRows);
+        });
+        userRows.clear();
+        projectRows.clear();
+    }
+
+    /**
+     * Steps after the rows are in; both are repeatable, so a complete dataset whose run died here gets them on the
+     * next start.
+     */
+    private void finish(String emailPrefix) {
+        restartIdentity("users", nextId("users"));
+        restartIdentity("projects", nextId("projects"));
+        restartIdentity("tasks", Math.max(nextId("tasks"), nextId("tasks_archive")));
+        // the rebuild is one transaction, so buckets for any generated project mean it went through; it covers only
+        // the generated projects, everyone else's buckets are left alone
+        if (events && count("SELECT COUNT(*) FROM task_daily_stats WHERE project_id IN (" + GENERATED_PROJECTS + ")",
+                emailPrefix) == 0) {
+            LocalDate since = LocalDate.ofInstant(Instant.now().minus(HISTORY).minus(HISTORY), ZoneOffset.UTC);
+            List<Long> projectIds = jdbcTemplate.queryForList(GENERATED_PROJECTS, Long.class, emailPrefix + "%");
+            transactionTemplate.executeWithoutResult(s -> {
+                for (int i = 0; i < projectIds.size(); i += batchSize) {
+                    statsService.rebuild(since, projectIds.subList(i, Math.min(i + batchSize, projectIds.size())));
+                }
+            });
+        }
+    }
+
+    /** Everything a previous run with this seed wrote, children first. */
+    private void remove(String emailPrefix) {
+        String tasks = "SELECT id FROM tasks WHERE project_id IN (" + GENERATED_PROJECTS + ")";
+        String archived = "SELECT id FROM tasks_archive WHERE project_id IN (" + GENERATED_PROJECTS + ")";
+        transactionTemplate.executeWithoutResult(s -> {
+            // uploads made during a load test; their files go once this commits
+            List<Long> withAttachments = jdbcTemplate.queryForList("SELECT DISTINCT task_id FROM task_attachments"
+                    + " WHERE user_id IN (SELECT id FROM users WHERE email LIKE ?)", Long.class, emailPrefix + "%");
+            for (int i = 0; i < withAttachments.size(); i += batchSize) {
+                attachmentService.deleteForTasks(withAttachments.subList(i, Math.min(i + batchSize, withAttachments.size())));
+            }
+            jdbcTemplate.update("DELETE FROM task_status_events WHERE project_id IN (" + GENERATED_PROJECTS + ")", emailPrefix + "%");
+            jdbcTemplate.update("DELETE FROM task_daily_stats WHERE project_id IN (" + GENERATED_PROJECTS + ")", emailPrefix + "%");
+            jdbcTemplate.update("DELETE FROM task_tags WHERE task_id IN (" + tasks + ")", emailPrefix + "%");
+            jdbcTemplate.update("DELETE FROM tasks WHERE project_id IN (" + GENERATED_PROJECTS + ")", emailPrefix + "%");
+            jdbcTemplate.update("DELETE FROM task_tags_archive WHERE task_id IN (" + archived + ")", emailPrefix + "%");
+            jdbcTemplate.update("DELETE FROM tasks_archive WHERE project_id IN (" + GENERATED_PROJECTS + ")", emailPrefix + "%");
+            jdbcTemplate.update("DELETE FROM projects WHERE user_id IN (SELECT id FROM users WHERE email LIKE ?)", emailPrefix + "%");
+            jdbcTemplate.update("DELETE FROM users WHERE email LIKE ?", emailPrefix + "%");
+        });
+    }
+
+    private long count(String sql, String emailPrefix) {
+        Long count = jdbcTemplate.queryForObject(sql, Long.class, emailPrefix + "%");
+        return count != null ? count : 0;
+    }
+
+    private long nextId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return max != null ? max + 1 : 1;
+    }
+
+    /** MySQL moves AUTO_INCREMENT past explicit ids by itself; H2 identity columns have to be told. */
+    private void restartIdentity(String table, long next) {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+        if ("H2".equals(product)) {
+            jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next);
+        }
+    }
+
+    private static long mix(long seed, int user, int project) {
+        return new Random(seed * 1_000_003L + user * 8_191L + project).nextLong();
+    }
+
+    private static double[] zipfCumulative(int n, double exponent) {
+        double[] cumulative = new double[n];
+        double sum = 0;
+        for (int k = 0; k < n; k++) {
+            sum += 1 / Math.pow(k + 1, exponent);
+            cumulative[k] = sum;
+        }
+        for (int k = 0; k < n; k++) {
+            cumulative[k] /= sum;
+        }
+        return cumulative;
+    }
+
+    /** Rows of one worker, written in FK order in one transaction per flush. */
+    private final class Batch {
+        final List<Object[]> tasks = new ArrayList<>();
+        final List<Object[]> tags = new ArrayList<>();
+        final List<Object[]> archivedTasks = new ArrayList<>();
+        final List<Object[]> archivedTags = new ArrayList<>();
+        final List<Object[]> events = new ArrayList<>();
+
+        int size() {
+            return tasks.size() + archivedTasks.size();
+        }
+
+        int flush() {
+            int size = size();
+            if (size == 0) {
+                return 0;
+            }
+            transactionTemplate.executeWithoutResult(s -> {
+                jdbcTemplate.batchUpdate("INSERT INTO tasks (id, project_id, user_id, title, description, status, priority,"
+                        + " due_at, remind_at, archived, created_at, updated_at, version, sort_rank)"
+                        + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", tasks);
+                jdbcTemplate.batchUpdate("INSERT INTO task_tags (task_id, tag) VALUES (?, ?)", tags);
+                jdbcTemplate.batchUpdate("INSERT INTO tasks_archive (id, project_id, title, description, status, priority,"
+                        + " due_at, remind_at, created_at, updated_at, version, archived_at)"
+                        + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", archivedTasks);
+                jdbcTemplate.batchUpdate("INSERT INTO task_tags_archive (task_id, tag) VALUES (?, ?)", archivedTags);
+                if (!events.isEmpty()) {
+                    jdbcTemplate.batchUpdate("INSERT INTO task_status_events (task_id, project_id, user_id, from_status,"
+                            + " to_status, occurred_at, bucket_date) VALUES (?, ?, ?, ?, ?, ?, ?)", events);
+                }
+            });
+            tasks.clear();
+            tags.clear();
+            archivedTasks.clear();
+            archivedTags.clear();
+            events.clear();
+            return size;
+        }
+    }
+}
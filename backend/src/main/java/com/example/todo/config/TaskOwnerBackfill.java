@@ -0,0 +1,56 @@
+package com.example.todo.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Fills {@code tasks.user_id} for rows created before the column existed. Flyway's V11 does this on MySQL, but with
+ * Flyway off and {@code ddl-auto: update} Hibernate only adds the column, and every query that filters on the owner
+ * (agenda, global search, counts, board, tag suggestions) would skip those tasks. Runs in small batches on every
+ * start; once the column is complete it is a single indexed lookup.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TaskOwnerBackfill implements ApplicationRunner {
+    private static final Logger log = LoggerFactory.getLogger(TaskOwnerBackfill.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public TaskOwnerBackfill(JdbcTemplate jdbcTemplate,
+                             TransactionTemplate transactionTemplate,
+                             @Value("${todo.backfill.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long total = 0;
+        while (true) {
+            Integer updated = transactionTemplate.execute(s -> jdbcTemplate.update("""
+                    UPDATE tasks SET user_id = (SELECT p.user_id FROM projects p WHERE p.id = tasks.project_id)
+                    WHERE user_id IS NULL
+                      AND EXISTS (SELECT 1 FROM projects p WHERE p.id = tasks.project_id AND p.user_id IS NOT NULL)
+                    LIMIT ?
+                    """, batchSize));
+            if (updated == null || updated == 0) {
+                break;
+            }
+            total += updated;
+        }
+        if (total > 0) {
+            log.info("Backfilled tasks.user_id for {} tasks", total);
+        }
+    }
+}
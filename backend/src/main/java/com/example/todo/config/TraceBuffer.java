@@ -0,0 +1,57 @@
+package com.example.todo.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free ring of the most recent slow or failed request traces; writers claim a slot with one increment and
+ * overwrite whatever was there.
+ */
+@Component
+public class TraceBuffer {
+    private final AtomicReferenceArray<TraceRecord> slots;
+    private final AtomicLong next = new AtomicLong();
+
+    public TraceBuffer(@Value("${todo.tracing.buffer-size:256}") int capacity) {
+        this.slots = new AtomicReferenceArray<>(Math.max(1, capacity));
+    }
+
+    void add(TraceRecord trace) {
+        slots.set((int) (next.getAndIncrement() % slots.length()), trace);
+    }
+
+    /**
+     * Newest first.
+     */
+    public List<TraceRecord> snapshot() {
+        long end = next.get();
+        List<TraceRecord> traces = new ArrayList<>();
+        for (long i = end - 1; i >= 0 && i >= end - slots.length(); i--) {
+            TraceRecord trace = slots.get((int) (i % slots.length()));
+            if (trace != null) {
+                traces.add(trace);
+            }
+        }
+        return traces;
+    }
+
+    public record TraceRecord(Instant startedAt, String method, String uri, int status, long durationMicros,
+                              int droppedSpans, SpanRecord root) {
+    }
+
+    public record SpanRecord(String kind, String name, long offsetMicros, long durationMicros, Long rows, String error,
+                             List<SpanRecord> children) {
+
+        static SpanRecord of(Tracer.Span span, long rootStartNanos) {
+            return new SpanRecord(span.kind, span.name, (span.startNanos - rootStartNanos) / 1000,
+                    span.durationNanos / 1000, span.rows >= 0 ? span.rows : null, span.error,
+                    span.children.stream().map(c -> of(c, rootStartNanos)).toList());
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.todo.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Span tree of the request running on the current thread: {@link TracingFilter} opens the root, the advisor in
+ * {@link TracingConfig} adds controller and service calls, and the traced data source adds each SQL statement.
+ * Threads without a request (schedulers, the purge worker) are not traced and every call here is a no-op.
+ */
+public final class Tracer {
+    /** Statements of a runaway request beyond this are counted but not kept. */
+    static final int MAX_SPANS = 500;
+
+    private static final ThreadLocal<Trace> CURRENT = new ThreadLocal<>();
+
+    private Tracer() {
+    }
+
+    static void begin(String name) {
+        CURRENT.set(new Trace(new Span(null, "request", name)));
+    }
+
+    static Trace end() {
+        Trace trace = CURRENT.get();
+        CURRENT.remove();
+        if (trace != null) {
+            trace.root.finish(null);
+        }
+        return trace;
+    }
+
+    /**
+     * Open a child of the innermost open span; {@code null} when the thread is not traced or the trace is full.
+     */
+    static Span start(String kind, String name) {
+        Trace trace = CURRENT.get();
+        if (trace == null) {
+            return null;
+        }
+        if (trace.spans >= MAX_SPANS) {
+            trace.dropped++;
+            return null;
+        }
+        trace.spans++;
+        Span span = new Span(trace.current, kind, name);
+        trace.current.children.add(span);
+        trace.current = span;
+        return span;
+    }
+
+    static void finish(Span span, Throwable error) {
+        if (span == null) {
+            return;
+        }
+        span.finish(error);
+        Trace trace = CURRENT.get();
+        if (trace != null && trace.current == span) {
+            trace.current = span.parent;
+        }
+    }
+
+    static final class Trace {
+        final Span root;
+        Span current;
+        int spans;
+        int dropped;
+
+        private Trace(Span root) {
+            this.root = root;
+            this.current = root;
+        }
+    }
+
+    static final class Span {
+        final Span parent;
+        final String kind;
+        final String name;
+        final long startNanos = System.nanoTime();
+        final List<Span> children = new ArrayList<>();
+        long durationNanos = -1;
+        /** Rows returned or updated; -1 when not applicable. Read rows are counted as the result set is consumed. */
+        long rows = -1;
+        String error;
+
+        private Span(Span parent, String kind, String name) {
+            this.parent = parent;
+            this.kind = kind;
+            this.name = name;
+        }
+
+        void finish(Throwable error) {
+            if (durationNanos < 0) {
+                durationNanos = System.nanoTime() - startNanos;
+            }
+            if (error != null && this.error == null) {
+                this.error = error.getClass().getSimpleName() + ": " + error.getMessage();
+            }
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.example.todo.config;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Service;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Feeds {@link Tracer}: controller and service calls through an infrastructure advisor (applied by the same
+ * auto-proxy creator as {@code @Transactional}), SQL statements through a wrapper around the {@code dataSource} bean.
+ * Statements slower than {@code todo.tracing.slow-sql-ms} are written to the {@code todo.slow-query} logger with the
+ * types of their bind parameters, never the values; this happens on every thread, traced or not.
+ * <p>
+ * With {@code todo.tracing.enabled=false} neither is registered, so there is no proxy on any call or JDBC object (and
+ * no slow-query log either).
+ */
+@Configuration(proxyBeanMethods = false)
+public class TracingConfig {
+    private static final Logger slowQueryLog = LoggerFactory.getLogger("todo.slow-query");
+    private static final int MAX_PARAMETERS_SHOWN = 50;
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    @ConditionalOnProperty(name = "todo.tracing.enabled", matchIfMissing = true)
+    static Advisor tracingAdvisor() {
+        ComposablePointcut pointcut = new ComposablePointcut(new AnnotationMatchingPointcut(RestController.class))
+                .union(new AnnotationMatchingPointcut(Service.class));
+        MethodInterceptor interceptor = invocation -> {
+            Object target = invocation.getThis();
+            String kind = target != null && ClassUtils.getUserClass(target).isAnnotationPresent(RestController.class)
+                    ? "controller" : "service";
+            String name = (target != null ? ClassUtils.getUserClass(target).getSimpleName() : "?")
+                    + "." + invocation.getMethod().getName();
+            Tracer.Span span = Tracer.start(kind, name);
+            Throwable error = null;
+            try {
+                return invocation.proceed();
+            } catch (Throwable t) {
+                error = t;
+                throw t;
+            } finally {
+                Tracer.finish(span, error);
+            }
+        };
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut, interceptor);
+        advisor.setOrder(Integer.MIN_VALUE);
+        return advisor;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "todo.tracing.enabled", matchIfMissing = true)
+    static BeanPostProcessor sqlTracingPostProcessor(@Value("${todo.tracing.slow-sql-ms:100}") long slowSqlMillis) {
+        long slowNanos = TimeUnit.MILLISECONDS.toNanos(slowSqlMillis);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource) {
+                    return new TracingDataSource(dataSource, slowNanos);
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static final class TracingDataSource extends DelegatingDataSource {
+        private final long slowNanos;
+
+        private TracingDataSource(DataSource target, long slowNanos) {
+            super(target);
+            this.slowNanos = slowNanos;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return wrapConnection(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return wrapConnection(super.getConnection(username, password));
+        }
+
+        private Connection wrapConnection(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        Object result = invoke(connection, method, args);
+                        String name = method.getName();
+                        if (result instanceof Statement statement
+                                && (name.equals("prepareStatement") || name.equals("prepareCall") || name.equals("createStatement"))) {
+                            Class<?> type = name.equals("createStatement") ? Statement.class
+                                    : name.equals("prepareCall") ? CallableStatement.class : PreparedStatement.class;
+                            return wrapStatement(statement, type, name.equals("createStatement") ? null : (String) args[0]);
+                        }
+                        return result;
+                    });
+        }
+
+        private Object wrapStatement(Statement statement, Class<?> type, String preparedSql) {
+            List<String> parameters = new ArrayList<>();
+            return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                String name = method.getName();
+                if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                    recordParameter(parameters, index, name.equals("setNull") ? "NULL"
+                            : name.equals("setObject") ? (args[1] != null ? args[1].getClass().getSimpleName() : "NULL")
+                            : name.substring(3));
+                } else if (name.equals("clearParameters")) {
+                    parameters.clear();
+                }
+                if (!name.startsWith("execute")) {
+                    return invoke(statement, method, args);
+                }
+                String sql = preparedSql != null ? preparedSql
+                        : args != null && args.length > 0 && args[0] instanceof String s ? s : "(batch)";
+                Tracer.Span span = Tracer.start("sql", sql);
+                long start = System.nanoTime();
+                Object result;
+                try {
+                    result = invoke(statement, method, args);
+                } catch (Throwable t) {
+                    Tracer.finish(span, t);
+                    logIfSlow(sql, parameters, System.nanoTime() - start, -1);
+                    throw t;
+                }
+                if (result instanceof ResultSet resultSet) {
+                    // still open: rows are counted, and the slow check made, as the caller reads it
+                    Tracer.finish(span, null);
+                    if (span != null) {
+                        span.rows = 0;
+                    }
+                    return wrapResultSet(resultSet, span, sql, List.copyOf(parameters), start);
+                }
+                long rows = result instanceof Number n ? n.longValue()
+                        : result instanceof int[] counts ? sum(counts)
+                        : result instanceof long[] counts ? sum(counts) : -1;
+                if (span != null) {
+                    span.rows = rows;
+                }
+                Tracer.finish(span, null);
+                logIfSlow(sql, parameters, System.nanoTime() - start, rows);
+                return result;
+            });
+        }
+
+        private ResultSet wrapResultSet(ResultSet resultSet, Tracer.Span span, String sql, List<String> parameters, long start) {
+            long[] rows = {0};
+            boolean[] closed = {false};
+            return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                    (proxy, method, args) -> {
+                        Object result = invoke(resultSet, method, args);
+                        if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                            rows[0]++;
+                            if (span != null) {
+                                span.rows = rows[0];
+                            }
+                        } else if (method.getName().equals("close") && !closed[0]) {
+                            closed[0] = true;
+                            long elapsed = System.nanoTime() - start;
+                            if (span != null) {
+                                span.durationNanos = elapsed;
+                            }
+                            logIfSlow(sql, parameters, elapsed, rows[0]);
+                        }
+                        return result;
+                    });
+        }
+
+        private void logIfSlow(String sql, List<String> parameters, long elapsedNanos, long rows) {
+            if (elapsedNanos > slowNanos) {
+                slowQueryLog.warn("{} ms, {} rows: {} | params: {}", TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                        rows >= 0 ? rows : "?", sql.replaceAll("\\s+", " ").trim(), parameters);
+            }
+        }
+
+        private static void recordParameter(List<String> parameters, int index, String type) {
+            if (index < 1 || index > MAX_PARAMETERS_SHOWN) {
+                return;
+            }
+            while (parameters.size() < index) {
+                parameters.add("?");
+            }
+            parameters.set(index - 1, type);
+        }
+
+        private static long sum(int[] counts) {
+            long total = 0;
+            for (int count : counts) {
+                total += Math.max(count, 0);
+            }
+            return total;
+        }
+
+        private static long sum(long[] counts) {
+            long total = 0;
+            for (long count : counts) {
+                total += Math.max(count, 0);
+            }
+            return total;
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
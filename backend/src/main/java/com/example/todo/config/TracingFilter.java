@@ -0,0 +1,66 @@
+package com.example.todo.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Traces every request and keeps the ones slower than {@code todo.tracing.slow-request-ms} or ending in a
+ * server error in {@link TraceBuffer}; everything else is dropped when the request ends.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class TracingFilter extends OncePerRequestFilter {
+    private final TraceBuffer buffer;
+    private final boolean enabled;
+    private final long slowNanos;
+
+    public TracingFilter(TraceBuffer buffer,
+                         @Value("${todo.tracing.enabled:true}") boolean enabled,
+                         @Value("${todo.tracing.slow-request-ms:500}") long slowMillis) {
+        this.buffer = buffer;
+        this.enabled = enabled;
+        this.slowNanos = TimeUnit.MILLISECONDS.toNanos(slowMillis);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        if (!enabled) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        Instant startedAt = Instant.now();
+        Tracer.begin(request.getMethod() + " " + request.getRequestURI());
+        Throwable failure = null;
+        try {
+            filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            Tracer.Trace trace = Tracer.end();
+            if (failure != null) {
+                trace.root.finish(failure);
+            }
+            int status = failure != null ? 500 : response.getStatus();
+            if (trace.root.durationNanos > slowNanos || status >= 500) {
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                buffer.add(new TraceBuffer.TraceRecord(startedAt, request.getMethod(),
+                        pattern != null ? pattern.toString() : request.getRequestURI(), status,
+                        trace.root.durationNanos / 1000, trace.dropped,
+                        TraceBuffer.SpanRecord.of(trace.root, trace.root.startNanos)));
+            }
+        }
+    }
+}
@@ -1,13 +1,19 @@
 package com.example.todo.controller;
 
+import com.example.todo.config.TraceBuffer;
+import com.example.todo.dto.PurgeJobResponse;
 import com.example.todo.service.AdminService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/admin")
 @RequiredArgsConstructor
@@ -16,8 +22,18 @@ public class AdminController {
     private final AdminService adminService;
 
     @DeleteMapping("/clear")
-    @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void clearAll() {
-        adminService.clearDatabase();
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public PurgeJobResponse clearAll() {
+        return PurgeJobResponse.from(adminService.clearDatabase());
+    }
+
+    @GetMapping("/traces")
+    public List<TraceBuffer.TraceRecord> traces() {
+        return adminService.traces();
+    }
+
+    @GetMapping("/purge-jobs/{jobId}")
+    public PurgeJobResponse purgeJob(@PathVariable("jobId") String jobId) {
+        return PurgeJobResponse.from(adminService.findJob(jobId));
     }
 }
@@ -0,0 +1,27 @@
+package com.example.todo.controller;
+
+import com.example.todo.dto.PageResponse;
+import com.example.todo.dto.TaskResponse;
+import com.example.todo.service.ArchiveService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class ArchiveController {
+
+    private final ArchiveService archiveService;
+
+    @GetMapping("/projects/{projectId}/archived-tasks")
+    public PageResponse<TaskResponse> search(@PathVariable("projectId") Long projectId,
+                                             @RequestParam(name = "page", defaultValue = "0") int page,
+                                             @RequestParam(name = "size", defaultValue = "20") int size) {
+        return PageResponse.from(archiveService.search(projectId, page, size));
+    }
+
+    @PostMapping("/archived-tasks/{taskId}/restore")
+    public TaskResponse restore(@PathVariable("taskId") Long taskId) {
+        return TaskResponse.from(archiveService.restore(taskId));
+    }
+}
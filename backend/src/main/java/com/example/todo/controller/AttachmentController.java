@@ -0,0 +1,80 @@
+package com.example.todo.controller;
+
+import com.example.todo.domain.TaskAttachment;
+import com.example.todo.dto.AttachmentResponse;
+import com.example.todo.service.AttachmentService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class AttachmentController {
+
+    private final AttachmentService attachmentService;
+
+    @GetMapping("/tasks/{taskId}/attachments")
+    public List<AttachmentResponse> list(@PathVariable("taskId") Long taskId) {
+        return attachmentService.list(taskId);
+    }
+
+    @PostMapping(value = "/tasks/{taskId}/attachments", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @ResponseStatus(HttpStatus.CREATED)
+    public AttachmentResponse upload(@PathVariable("taskId") Long taskId, @RequestParam("file") MultipartFile file) {
+        return attachmentService.upload(taskId, file);
+    }
+
+    /**
+     * The file itself; a single {@code Range} is answered with 206, honouring {@code If-Range} against the ETag.
+     */
+    @GetMapping("/attachments/{attachmentId}")
+    public void download(@PathVariable("attachmentId") Long attachmentId,
+                         HttpServletRequest request, HttpServletResponse response) throws IOException {
+        TaskAttachment attachment = attachmentService.find(attachmentId);
+        Path file = attachmentService.file(attachment);
+        long size = Files.size(file);
+        String etag = "\"" + attachment.getStorageKey() + "\"";
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(attachment.getFileName(), StandardCharsets.UTF_8).build().toString());
+        response.setHeader("X-Content-Type-Options", "nosniff");
+
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        FileResponses.ByteRange range = ifRange == null || ifRange.equals(etag)
+                ? FileResponses.range(request.getHeader(HttpHeaders.RANGE), size) : null;
+        if (range == FileResponses.ByteRange.UNSATISFIABLE) {
+            response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+            return;
+        }
+        response.setContentType(attachment.getContentType());
+        if (range == null) {
+            FileResponses.send(file, 0, size, request, response);
+            return;
+        }
+        response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+        response.setHeader(HttpHeaders.CONTENT_RANGE,
+                "bytes " + range.start() + "-" + (range.start() + range.length() - 1) + "/" + size);
+        FileResponses.send(file, range.start(), range.length(), request, response);
+    }
+
+    @DeleteMapping("/attachments/{attachmentId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void delete(@PathVariable("attachmentId") Long attachmentId) {
+        attachmentService.delete(attachmentId);
+    }
+}
@@ -8,9 +8,12 @@ import com.example.todo.dto.RegisterRequest;
 import com.example.todo.service.AuthService;
 import com.example.todo.service.VerificationService;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -29,6 +32,25 @@ public class AuthController {
         return ResponseEntity.ok(authService.login(request));
     }
 
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@AuthenticationPrincipal(expression = "username") String email,
+                                       @RequestHeader(HttpHeaders.AUTHORIZATION) String authorization) {
+        if (email == null) {
+            return ResponseEntity.status(401).build();
+        }
+        authService.logout(authorization.substring("Bearer ".length()));
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/logout-all")
+    public ResponseEntity<Void> logoutEverywhere(@AuthenticationPrincipal(expression = "username") String email) {
+        if (email == null) {
+            return ResponseEntity.status(401).build();
+        }
+        authService.logoutEverywhere(email);
+        return ResponseEntity.noContent().build();
+    }
+
     @PostMapping("/register")
     public ResponseEntity<MeResponse> register(@RequestBody @Valid RegisterRequest request) {
         MeResponse me = authService.register(request);
@@ -57,4 +79,13 @@ public class AuthController {
         }
         return ResponseEntity.ok(authService.updateProfile(email, req));
     }
+
+    @PutMapping(value = "/me/avatar", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<MeResponse> updateAvatar(@AuthenticationPrincipal(expression = "username") String email,
+                                                   @RequestParam("file") MultipartFile file) {
+        if (email == null) {
+            return ResponseEntity.status(401).build();
+        }
+        return ResponseEntity.ok(authService.updateAvatar(email, file));
+    }
 }
@@ -0,0 +1,43 @@
+package com.example.todo.controller;
+
+import com.example.todo.service.AvatarService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@RequestMapping("/api/avatars")
+@RequiredArgsConstructor
+public class AvatarController {
+    private static final String CACHE_CONTROL = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable().getHeaderValue();
+
+    private final AvatarService avatarService;
+
+    /**
+     * Public so it can be used directly in {@code <img>}/CSS; names are content hashes, so responses never change.
+     */
+    @GetMapping("/{name}")
+    public void get(@PathVariable("name") String name, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Path file = avatarService.find(name);
+        String etag = "\"" + name.substring(0, name.indexOf('.')) + "\"";
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        response.setHeader(HttpHeaders.ETAG, etag);
+        if (etag.equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        response.setContentType(avatarService.mediaType(name).toString());
+        FileResponses.send(file, 0, Files.size(file), request, response);
+    }
+}
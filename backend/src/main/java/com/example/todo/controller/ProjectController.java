@@ -1,7 +1,11 @@
 package com.example.todo.controller;
 
+import com.example.todo.dto.ProjectField;
+import com.example.todo.dto.ProjectListItem;
 import com.example.todo.dto.ProjectRequest;
+import com.example.todo.dto.PurgeJobResponse;
 import com.example.todo.dto.ProjectResponse;
+import com.example.todo.dto.TaskCounts;
 import com.example.todo.service.ProjectService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -9,6 +13,9 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/projects")
@@ -16,9 +23,31 @@ import java.util.List;
 public class ProjectController {
     private final ProjectService projectService;
 
+    /**
+     * With {@code fields=} only those properties are selected and returned; with {@code counts=true} every row
+     * also carries {@code taskCounts}.
+     */
     @GetMapping
-    public List<ProjectResponse> list() {
-        return projectService.findAll().stream().map(ProjectResponse::from).toList();
+    public List<?> list(@RequestParam(name = "fields") Optional<String> fields,
+                        @RequestParam(name = "counts", defaultValue = "false") boolean counts) {
+        Map<Long, TaskCounts> taskCounts = counts ? projectService.taskCounts() : Map.of();
+        if (fields.isEmpty()) {
+            List<ProjectResponse> projects = projectService.findAll().stream().map(ProjectResponse::from).toList();
+            if (!counts) {
+                return projects;
+            }
+            return projects.stream()
+                    .map(p -> new ProjectListItem(p, taskCounts.getOrDefault(p.id(), TaskCounts.EMPTY)))
+                    .toList();
+        }
+        Set<ProjectField> selected = ProjectField.parse(fields);
+        return projectService.findAll(selected).stream().map(p -> {
+            Map<String, Object> row = p.toMap(selected);
+            if (counts) {
+                row.put("taskCounts", taskCounts.getOrDefault(p.id(), TaskCounts.EMPTY));
+            }
+            return row;
+        }).toList();
     }
 
     @GetMapping("/{id}")
@@ -38,8 +67,8 @@ public class ProjectController {
     }
 
     @DeleteMapping("/{id}")
-    @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void delete(@PathVariable Long id) {
-        projectService.delete(id);
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public PurgeJobResponse delete(@PathVariable Long id) {
+        return PurgeJobResponse.from(projectService.delete(id));
     }
 }
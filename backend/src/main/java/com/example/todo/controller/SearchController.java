@@ -0,0 +1,32 @@
+package com.example.todo.controller;
+
+import com.example.todo.domain.TaskStatus;
+import com.example.todo.dto.GlobalSearchResponse;
+import com.example.todo.service.TaskService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+public class SearchController {
+
+    private final TaskService taskService;
+
+    @GetMapping
+    public GlobalSearchResponse search(@RequestParam(name = "keyword") Optional<String> keyword,
+                                       @RequestParam(name = "status") Optional<TaskStatus> status,
+                                       @RequestParam(name = "tags") Optional<Set<String>> tags,
+                                       @RequestParam(name = "dueFrom") Optional<Instant> dueFrom,
+                                       @RequestParam(name = "dueTo") Optional<Instant> dueTo,
+                                       @RequestParam(name = "perProject", defaultValue = "5") int perProject) {
+        return taskService.searchAll(keyword, status, tags, dueFrom, dueTo, perProject);
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.todo.controller;
+
+import com.example.todo.dto.TaskStatsResponse;
+import com.example.todo.service.TaskStatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/stats")
+@RequiredArgsConstructor
+public class StatsController {
+
+    private final TaskStatsService statsService;
+
+    /**
+     * Created/completed counts for {@code [from, to)}; defaults to the last 30 days including today (UTC).
+     */
+    @GetMapping("/tasks")
+    public TaskStatsResponse tasks(@RequestParam(name = "projectId") Optional<Long> projectId,
+                                   @RequestParam(name = "from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Optional<LocalDate> from,
+                                   @RequestParam(name = "to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Optional<LocalDate> to,
+                                   @RequestParam(name = "bucket", defaultValue = "DAY") TaskStatsResponse.Bucket bucket) {
+        LocalDate end = to.orElseGet(() -> LocalDate.now(ZoneOffset.UTC).plusDays(1));
+        return statsService.stats(projectId, from.orElse(end.minusDays(30)), end, bucket);
+    }
+}
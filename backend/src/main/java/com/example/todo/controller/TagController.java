@@ -0,0 +1,25 @@
+package com.example.todo.controller;
+
+import com.example.todo.dto.TagSuggestion;
+import com.example.todo.service.TagSuggestService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/tags")
+@RequiredArgsConstructor
+public class TagController {
+
+    private final TagSuggestService tagSuggestService;
+
+    @GetMapping("/suggest")
+    public List<TagSuggestion> suggest(@RequestParam(name = "prefix", defaultValue = "") String prefix,
+                                       @RequestParam(name = "limit", defaultValue = "10") int limit) {
+        return tagSuggestService.suggest(prefix, limit);
+    }
+}
@@ -1,16 +1,22 @@
 package com.example.todo.controller;
 
 import com.example.todo.domain.TaskStatus;
+import com.example.todo.dto.BoardResponse;
+import com.example.todo.dto.CursorPage;
+import com.example.todo.dto.MoveTaskRequest;
+import com.example.todo.dto.TagChangeRequest;
+import com.example.todo.dto.TaskField;
+import com.example.todo.dto.TaskPage;
 import com.example.todo.dto.TaskRequest;
 import com.example.todo.dto.TaskUpdateRequest;
 import com.example.todo.dto.TaskResponse;
 import com.example.todo.service.TaskService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Instant;
 import java.util.Optional;
 import java.util.Set;
 
@@ -22,15 +28,38 @@ public class TaskController {
     private final TaskService taskService;
 
     @GetMapping("/projects/{projectId}/tasks")
-    public Page<TaskResponse> search(@PathVariable("projectId") Long projectId,
-                                     @RequestParam(name = "keyword") Optional<String> keyword,
-                                     @RequestParam(name = "status") Optional<TaskStatus> status,
-                                     @RequestParam(name = "tags") Optional<Set<String>> tags,
-                                     @RequestParam(name = "page", defaultValue = "0") int page,
-                                     @RequestParam(name = "size", defaultValue = "20") int size,
-                                     @RequestParam(name = "sort", defaultValue = "createdAt,DESC") String sort) {
-        return taskService.search(projectId, keyword, status, tags, page, size, sort)
-                .map(TaskResponse::from);
+    public TaskPage search(@PathVariable("projectId") Long projectId,
+                           @RequestParam(name = "keyword") Optional<String> keyword,
+                           @RequestParam(name = "status") Optional<TaskStatus> status,
+                           @RequestParam(name = "tags") Optional<Set<String>> tags,
+                           @RequestParam(name = "page", defaultValue = "0") int page,
+                           @RequestParam(name = "size", defaultValue = "20") int size,
+                           @RequestParam(name = "sort", defaultValue = "createdAt,DESC") String sort,
+                           @RequestParam(name = "fields") Optional<String> fields) {
+        Set<TaskField> selected = TaskField.parse(fields);
+        return new TaskPage(taskService.search(projectId, keyword, status, tags, page, size, sort, selected), selected);
+    }
+
+    @GetMapping("/projects/{projectId}/board")
+    public BoardResponse board(@PathVariable("projectId") Long projectId,
+                               @RequestParam(name = "size", defaultValue = "20") int size) {
+        return taskService.board(projectId, size);
+    }
+
+    @GetMapping("/projects/{projectId}/board/{status}")
+    public CursorPage<TaskResponse> boardColumn(@PathVariable("projectId") Long projectId,
+                                                @PathVariable("status") TaskStatus status,
+                                                @RequestParam(name = "cursor") String cursor,
+                                                @RequestParam(name = "size", defaultValue = "20") int size) {
+        return taskService.boardColumn(projectId, status, cursor, size);
+    }
+
+    @GetMapping("/agenda")
+    public CursorPage<TaskResponse> agenda(@RequestParam(name = "from") Optional<Instant> from,
+                                           @RequestParam(name = "to") Optional<Instant> to,
+                                           @RequestParam(name = "cursor") Optional<String> cursor,
+                                           @RequestParam(name = "size", defaultValue = "50") int size) {
+        return taskService.agenda(from, to, cursor, size);
     }
 
     @PostMapping("/projects/{projectId}/tasks")
@@ -44,6 +73,16 @@ public class TaskController {
         return TaskResponse.from(taskService.update(taskId, request));
     }
 
+    @PatchMapping("/tasks/{taskId}/tags")
+    public TaskResponse changeTags(@PathVariable("taskId") Long taskId, @Valid @RequestBody TagChangeRequest request) {
+        return TaskResponse.from(taskService.changeTags(taskId, request));
+    }
+
+    @PostMapping("/tasks/{taskId}/move")
+    public TaskResponse move(@PathVariable("taskId") Long taskId, @RequestBody MoveTaskRequest request) {
+        return TaskResponse.from(taskService.move(taskId, request));
+    }
+
     @PostMapping("/tasks/{taskId}/archive")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void archive(@PathVariable("taskId") Long taskId) {
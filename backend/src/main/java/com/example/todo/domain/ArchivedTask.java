@@ -0,0 +1,61 @@
+package com.example.todo.domain;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Cold copy of an archived {@link Task}; rows are moved here by the archive mover and keep their original id.
+ */
+@Entity
+@Table(name = "tasks_archive", indexes = @Index(name = "idx_tasks_archive_project", columnList = "project_id, archived_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class ArchivedTask {
+    @Id
+    private Long id;
+
+    @Column(name = "project_id")
+    private Long projectId;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(length = 2000)
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TaskStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Priority priority;
+
+    private Instant dueAt;
+    private Instant remindAt;
+
+    @ElementCollection
+    @BatchSize(size = 100)
+    @CollectionTable(name = "task_tags_archive", joinColumns = @JoinColumn(name = "task_id"))
+    @Column(name = "tag")
+    private Set<String> tags = new HashSet<>();
+
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+
+    private Instant updatedAt;
+
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(nullable = false)
+    private Instant archivedAt;
+}
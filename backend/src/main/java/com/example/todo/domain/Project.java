@@ -28,4 +28,8 @@ public class Project {
 
     @Column(nullable = false, updatable = false)
     private Instant createdAt = Instant.now();
+
+    /** Set when deletion is requested; rows are removed later by the purge worker. */
+    @Column(nullable = false)
+    private boolean hidden = false;
 }
@@ -0,0 +1,31 @@
+package com.example.todo.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Denylist entry: a single token id ({@code jti}), or {@code sub:<email>} with {@code notBefore} to revoke every
+ * token of that user issued earlier. Rows are useless, and deleted, once {@code expiresAt} has passed.
+ */
+@Entity
+@Table(name = "revoked_tokens", indexes = @Index(name = "idx_revoked_tokens_revoked_at", columnList = "revoked_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class RevokedToken {
+    @Id
+    @Column(length = 300)
+    private String id;
+
+    private Instant notBefore;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    @Column(name = "revoked_at", nullable = false)
+    private Instant revokedAt;
+}
@@ -10,7 +10,12 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_archived", columnList = "archived, id"),
+        @Index(name = "idx_tasks_agenda", columnList = "user_id, archived, due_at, priority_rank, id"),
+        @Index(name = "idx_tasks_rank", columnList = "project_id, archived, sort_rank, id"),
+        @Index(name = "idx_tasks_board", columnList = "project_id, archived, status, sort_rank, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -23,6 +28,10 @@ public class Task {
     @JoinColumn(name = "project_id")
     private Project project;
 
+    /** Copy of {@code project.user.id} so the cross-project agenda can be served from one index. */
+    @Column(name = "user_id", updatable = false)
+    private Long ownerId;
+
     @Column(nullable = false)
     private String title;
 
@@ -37,10 +46,20 @@ public class Task {
     @Column(nullable = false)
     private Priority priority = Priority.MEDIUM;
 
+    /** Computed by the database: 0 for CRITICAL … 3 for LOW, so "most urgent first" is an ascending index order. */
+    @Column(name = "priority_rank", insertable = false, updatable = false,
+            columnDefinition = "INT GENERATED ALWAYS AS (CASE priority WHEN 'CRITICAL' THEN 0 WHEN 'HIGH' THEN 1 WHEN 'MEDIUM' THEN 2 ELSE 3 END)")
+    private Integer priorityRank;
+
+    /** Manual position inside the project, a {@link com.example.todo.service.FractionalRank} key. */
+    @Column(name = "sort_rank")
+    private String rank;
+
     private Instant dueAt;
     private Instant remindAt;
 
-    @ElementCollection(fetch = FetchType.EAGER)
+    /** Lazy: load through an entity graph on the repository method when the response needs it. */
+    @ElementCollection
     @CollectionTable(name = "task_tags", joinColumns = @JoinColumn(name = "task_id"))
     @Column(name = "tag")
     private Set<String> tags = new HashSet<>();
@@ -51,4 +70,8 @@ public class Task {
     private Instant createdAt = Instant.now();
 
     private Instant updatedAt;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
 }
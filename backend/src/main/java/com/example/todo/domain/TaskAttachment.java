@@ -0,0 +1,49 @@
+package com.example.todo.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * A file attached to a task. The bytes live under {@code todo.attachments.root} as {@code storageKey}; only the
+ * metadata is here. {@code taskId} is not a foreign key because the task row moves to {@code tasks_archive} and
+ * back with the same id.
+ */
+@Entity
+@Table(name = "task_attachments", indexes = {
+        @Index(name = "idx_task_attachments_task", columnList = "task_id, id"),
+        @Index(name = "idx_task_attachments_user", columnList = "user_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class TaskAttachment {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    /** Owner the bytes count against for the quota. */
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 255)
+    private String fileName;
+
+    @Column(nullable = false, length = 100)
+    private String contentType;
+
+    @Column(nullable = false)
+    private long sizeBytes;
+
+    @Column(nullable = false, unique = true, length = 32)
+    private String storageKey;
+
+    @Column(nullable = false)
+    private Instant createdAt = Instant.now();
+}
@@ -0,0 +1,48 @@
+package com.example.todo.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Per project and UTC day: tasks created and tasks moved to {@link TaskStatus#DONE}. Incremented as events are
+ * recorded and periodically rebuilt from {@link TaskStatusEvent}.
+ */
+@Entity
+@Table(name = "task_daily_stats", indexes = @Index(name = "idx_task_daily_stats_user", columnList = "user_id, bucket_date"))
+@IdClass(TaskDailyStats.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+public class TaskDailyStats {
+    @Id
+    @Column(name = "project_id")
+    private Long projectId;
+
+    @Id
+    @Column(name = "bucket_date")
+    private LocalDate bucketDate;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private int created;
+
+    @Column(nullable = false)
+    private int completed;
+
+    @EqualsAndHashCode
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long projectId;
+        private LocalDate bucketDate;
+    }
+}
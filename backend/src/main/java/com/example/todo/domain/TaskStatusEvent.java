@@ -0,0 +1,50 @@
+package com.example.todo.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * One status change of a task, appended by {@link com.example.todo.service.TaskStatsService}. Creation is recorded
+ * with no {@code fromStatus}. Rows are never updated; {@link TaskDailyStats} is derived from them.
+ */
+@Entity
+@Table(name = "task_status_events", indexes = {
+        @Index(name = "idx_task_status_events_day", columnList = "bucket_date"),
+        @Index(name = "idx_task_status_events_project", columnList = "project_id, id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class TaskStatusEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    private TaskStatus fromStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TaskStatus toStatus;
+
+    @Column(nullable = false)
+    private Instant occurredAt;
+
+    /** UTC date of {@code occurredAt}, the rollup bucket. */
+    @Column(name = "bucket_date", nullable = false)
+    private LocalDate bucketDate;
+}
@@ -4,11 +4,12 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.time.Instant;
 import java.util.Collection;
-import java.util.Collections;
+import java.util.List;
 
 @Entity
 @Table(name = "users")
@@ -28,7 +29,8 @@ public class User implements UserDetails {
     @Column(name = "display_name", nullable = false)
     private String displayName;
 
-    @Column(name = "avatar_url", columnDefinition = "TEXT")
+    /** Short reference only: {@code /api/avatars/<hash>.<ext>} or an external URL. */
+    @Column(name = "avatar_url", length = 500)
     private String avatarUrl;
 
     @Column(name = "role", nullable = false)
@@ -39,7 +41,7 @@ public class User implements UserDetails {
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return Collections.emptyList();
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role));
     }
 
     @Override
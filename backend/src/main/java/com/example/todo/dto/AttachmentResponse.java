@@ -0,0 +1,25 @@
+package com.example.todo.dto;
+
+import com.example.todo.domain.TaskAttachment;
+
+import java.time.Instant;
+
+public record AttachmentResponse(
+        Long id,
+        Long taskId,
+        String fileName,
+        String contentType,
+        long size,
+        Instant createdAt
+) {
+    public static AttachmentResponse from(TaskAttachment attachment) {
+        return new AttachmentResponse(
+                attachment.getId(),
+                attachment.getTaskId(),
+                attachment.getFileName(),
+                attachment.getContentType(),
+                attachment.getSizeBytes(),
+                attachment.getCreatedAt()
+        );
+    }
+}
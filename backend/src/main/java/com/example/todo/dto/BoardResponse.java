@@ -0,0 +1,14 @@
+package com.example.todo.dto;
+
+import com.example.todo.domain.TaskStatus;
+
+import java.util.List;
+
+/**
+ * Kanban view of a project: one column per status with its first tasks in manual order. {@code total} counts the
+ * whole column; pass {@code nextCursor} to the column endpoint to load more.
+ */
+public record BoardResponse(Long projectId, List<Column> columns) {
+    public record Column(TaskStatus status, long total, List<TaskResponse> tasks, String nextCursor) {
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.todo.dto;
+
+import java.util.List;
+
+/**
+ * Keyset page: pass {@code nextCursor} back as {@code cursor} to continue; {@code null} means there is nothing more.
+ */
+public record CursorPage<T>(List<T> content, String nextCursor) {
+}
@@ -0,0 +1,12 @@
+package com.example.todo.dto;
+
+import java.util.List;
+
+/**
+ * Search hits grouped by project; {@code hits} is the full per-project count even when only the first
+ * {@code tasks} are included.
+ */
+public record GlobalSearchResponse(long totalHits, List<ProjectHits> projects) {
+    public record ProjectHits(Long projectId, String projectName, long hits, List<TaskResponse> tasks) {
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.todo.dto;
+
+/**
+ * Drop position for a task: {@code beforeId} is the task that should end up directly above it, {@code afterId} the
+ * one directly below. Either may be omitted when the task goes to the top or the bottom of the project.
+ */
+public record MoveTaskRequest(
+        Long beforeId,
+        Long afterId
+) {}
@@ -0,0 +1,15 @@
+package com.example.todo.dto;
+
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+/**
+ * Stable page envelope; unlike Spring's {@code PageImpl} it does not expose the pageable/sort object graph.
+ */
+public record PageResponse<T>(List<T> content, int number, int size, long totalElements, int totalPages) {
+    public static <T> PageResponse<T> from(Page<T> page) {
+        return new PageResponse<>(page.getContent(), page.getNumber(), page.getSize(),
+                page.getTotalElements(), page.getTotalPages());
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.todo.dto;
+
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * The {@link ProjectResponse} properties a client can ask for with {@code fields=}.
+ */
+public enum ProjectField {
+    ID("id"),
+    NAME("name"),
+    DESCRIPTION("description"),
+    CREATED_AT("createdAt");
+
+    private final String json;
+
+    ProjectField(String json) {
+        this.json = json;
+    }
+
+    /**
+     * Also the entity attribute name.
+     */
+    public String json() {
+        return json;
+    }
+
+    public static Set<ProjectField> parse(Optional<String> fields) {
+        return SparseFields.parse(fields, ProjectField.class, ProjectField::json, ID);
+    }
+}
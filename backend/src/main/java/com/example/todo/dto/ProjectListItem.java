@@ -0,0 +1,9 @@
+package com.example.todo.dto;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+
+/**
+ * A project list row with its task counts, serialized as the project's properties plus {@code taskCounts}.
+ */
+public record ProjectListItem(@JsonUnwrapped ProjectResponse project, TaskCounts taskCounts) {
+}
@@ -3,9 +3,24 @@ package com.example.todo.dto;
 import com.example.todo.domain.Project;
 
 import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
 
 public record ProjectResponse(Long id, String name, String description, Instant createdAt) {
     public static ProjectResponse from(Project project) {
         return new ProjectResponse(project.getId(), project.getName(), project.getDescription(), project.getCreatedAt());
     }
+
+    /**
+     * Only the requested properties, in declaration order, for a sparse fieldset response.
+     */
+    public Map<String, Object> toMap(Set<ProjectField> fields) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        if (fields.contains(ProjectField.ID)) map.put(ProjectField.ID.json(), id);
+        if (fields.contains(ProjectField.NAME)) map.put(ProjectField.NAME.json(), name);
+        if (fields.contains(ProjectField.DESCRIPTION)) map.put(ProjectField.DESCRIPTION.json(), description);
+        if (fields.contains(ProjectField.CREATED_AT)) map.put(ProjectField.CREATED_AT.json(), createdAt);
+        return map;
+    }
 }
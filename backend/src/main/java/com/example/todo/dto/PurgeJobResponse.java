@@ -0,0 +1,33 @@
+package com.example.todo.dto;
+
+import com.example.todo.service.PurgeJob;
+
+import java.time.Instant;
+
+public record PurgeJobResponse(
+        String id,
+        PurgeJob.Type type,
+        Long targetId,
+        PurgeJob.Status status,
+        long projectsDeleted,
+        long tasksDeleted,
+        long tagsDeleted,
+        Instant createdAt,
+        Instant finishedAt,
+        String error
+) {
+    public static PurgeJobResponse from(PurgeJob job) {
+        return new PurgeJobResponse(
+                job.getId(),
+                job.getType(),
+                job.getTargetId(),
+                job.getStatus(),
+                job.getProjectsDeleted().get(),
+                job.getTasksDeleted().get(),
+                job.getTagsDeleted().get(),
+                job.getCreatedAt(),
+                job.getFinishedAt(),
+                job.getError()
+        );
+    }
+}
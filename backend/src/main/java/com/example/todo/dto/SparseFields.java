@@ -0,0 +1,47 @@
+package com.example.todo.dto;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Parses a {@code fields=a,b,c} request parameter into the matching enum constants.
+ */
+final class SparseFields {
+    private SparseFields() {
+    }
+
+    /**
+     * @param always included even when not requested (the identifier)
+     * @return every constant when the parameter is absent or blank
+     */
+    static <E extends Enum<E>> Set<E> parse(Optional<String> fields, Class<E> type, Function<E, String> name, E always) {
+        if (fields.isEmpty() || fields.get().isBlank()) {
+            return Collections.unmodifiableSet(EnumSet.allOf(type));
+        }
+        EnumSet<E> selected = EnumSet.of(always);
+        for (String requested : fields.get().split(",")) {
+            String trimmed = requested.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            E match = null;
+            for (E candidate : type.getEnumConstants()) {
+                if (name.apply(candidate).equals(trimmed)) {
+                    match = candidate;
+                    break;
+                }
+            }
+            if (match == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown field: " + trimmed);
+            }
+            selected.add(match);
+        }
+        return Collections.unmodifiableSet(selected);
+    }
+}
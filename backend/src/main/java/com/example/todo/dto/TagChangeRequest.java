@@ -0,0 +1,13 @@
+package com.example.todo.dto;
+
+import jakarta.validation.constraints.Size;
+
+import java.util.Set;
+
+/**
+ * Incremental tag edit: only the listed tags are inserted or deleted.
+ */
+public record TagChangeRequest(
+        Set<@Size(max = 100) String> add,
+        Set<@Size(max = 100) String> remove
+) {}
@@ -0,0 +1,7 @@
+package com.example.todo.dto;
+
+/**
+ * @param count number of the user's live tasks carrying the tag
+ */
+public record TagSuggestion(String tag, int count) {
+}
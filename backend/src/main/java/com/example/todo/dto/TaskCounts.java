@@ -0,0 +1,8 @@
+package com.example.todo.dto;
+
+/**
+ * Badge numbers for one project: open is TODO + DOING, overdue is open with {@code dueAt} in the past.
+ */
+public record TaskCounts(long open, long done, long overdue) {
+    public static final TaskCounts EMPTY = new TaskCounts(0, 0, 0);
+}
@@ -0,0 +1,49 @@
+package com.example.todo.dto;
+
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * The {@link TaskResponse} properties a client can ask for with {@code fields=}; each maps to the entity
+ * attribute it is selected from, so unrequested columns are not read at all.
+ */
+public enum TaskField {
+    ID("id", "id"),
+    PROJECT_ID("projectId", "project", "id"),
+    TITLE("title", "title"),
+    DESCRIPTION("description", "description"),
+    STATUS("status", "status"),
+    PRIORITY("priority", "priority"),
+    DUE_AT("dueAt", "dueAt"),
+    REMIND_AT("remindAt", "remindAt"),
+    TAGS("tags"),
+    ARCHIVED("archived", "archived"),
+    CREATED_AT("createdAt", "createdAt"),
+    UPDATED_AT("updatedAt", "updatedAt"),
+    VERSION("version", "version");
+
+    public static final Set<TaskField> ALL = parse(Optional.empty());
+
+    private final String json;
+    private final String[] attributePath;
+
+    TaskField(String json, String... attributePath) {
+        this.json = json;
+        this.attributePath = attributePath;
+    }
+
+    public String json() {
+        return json;
+    }
+
+    /**
+     * @return path below the {@code Task} root, empty for {@link #TAGS} which comes from its own table
+     */
+    public String[] attributePath() {
+        return attributePath;
+    }
+
+    public static Set<TaskField> parse(Optional<String> fields) {
+        return SparseFields.parse(fields, TaskField.class, TaskField::json, ID);
+    }
+}
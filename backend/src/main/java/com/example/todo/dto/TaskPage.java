@@ -0,0 +1,18 @@
+package com.example.todo.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import org.springframework.data.domain.Page;
+
+import java.util.Set;
+
+/**
+ * A page of task rows serialized by {@link TaskPageSerializer}, in the same shape as
+ * {@code PageResponse<TaskResponse>} but without Jackson's per-property reflection.
+ * Only {@code fields} are written for each row.
+ */
+@JsonSerialize(using = TaskPageSerializer.class)
+public record TaskPage(Page<TaskResponse> page, Set<TaskField> fields) {
+    public TaskPage(Page<TaskResponse> page) {
+        this(page, TaskField.ALL);
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.todo.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.data.domain.Page;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Writes task rows field by field; field names are pre-encoded once and instants are formatted into a reused buffer.
+ */
+public class TaskPageSerializer extends StdSerializer<TaskPage> {
+    private static final SerializableString CONTENT = new SerializedString("content");
+    private static final SerializableString NUMBER = new SerializedString("number");
+    private static final SerializableString SIZE = new SerializedString("size");
+    private static final SerializableString TOTAL_ELEMENTS = new SerializedString("totalElements");
+    private static final SerializableString TOTAL_PAGES = new SerializedString("totalPages");
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString PROJECT_ID = new SerializedString("projectId");
+    private static final SerializableString TITLE = new SerializedString("title");
+    private static final SerializableString DESCRIPTION = new SerializedString("description");
+    private static final SerializableString STATUS = new SerializedString("status");
+    private static final SerializableString PRIORITY = new SerializedString("priority");
+    private static final SerializableString DUE_AT = new SerializedString("dueAt");
+    private static final SerializableString REMIND_AT = new SerializedString("remindAt");
+    private static final SerializableString TAGS = new SerializedString("tags");
+    private static final SerializableString ARCHIVED = new SerializedString("archived");
+    private static final SerializableString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializableString UPDATED_AT = new SerializedString("updatedAt");
+    private static final SerializableString VERSION = new SerializedString("version");
+
+    private static final int INSTANT_MAX_LENGTH = "yyyy-MM-ddTHH:mm:ss.nnnnnnnnnZ".length();
+
+    public TaskPageSerializer() {
+        super(TaskPage.class);
+    }
+
+    @Override
+    public void serialize(TaskPage value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        Page<TaskResponse> page = value.page();
+        gen.writeStartObject();
+        gen.writeFieldName(CONTENT);
+        gen.writeStartArray();
+        char[] buffer = new char[INSTANT_MAX_LENGTH];
+        Set<TaskField> fields = value.fields();
+        for (TaskResponse task : page.getContent()) {
+            writeTask(task, fields, gen, buffer);
+        }
+        gen.writeEndArray();
+        gen.writeFieldName(NUMBER);
+        gen.writeNumber(page.getNumber());
+        gen.writeFieldName(SIZE);
+        gen.writeNumber(page.getSize());
+        gen.writeFieldName(TOTAL_ELEMENTS);
+        gen.writeNumber(page.getTotalElements());
+        gen.writeFieldName(TOTAL_PAGES);
+        gen.writeNumber(page.getTotalPages());
+        gen.writeEndObject();
+    }
+
+    private static void writeTask(TaskResponse task, Set<TaskField> fields, JsonGenerator gen, char[] buffer) throws IOException {
+        gen.writeStartObject();
+        gen.writeFieldName(ID);
+        writeNumber(gen, task.id());
+        if (fields.contains(TaskField.PROJECT_ID)) {
+            gen.writeFieldName(PROJECT_ID);
+            writeNumber(gen, task.projectId());
+        }
+        if (fields.contains(TaskField.TITLE)) {
+            gen.writeFieldName(TITLE);
+            gen.writeString(task.title());
+        }
+        if (fields.contains(TaskField.DESCRIPTION)) {
+            gen.writeFieldName(DESCRIPTION);
+            gen.writeString(task.description());
+        }
+        if (fields.contains(TaskField.STATUS)) {
+            gen.writeFieldName(STATUS);
+            gen.writeString(task.status() != null ? task.status().name() : null);
+        }
+        if (fields.contains(TaskField.PRIORITY)) {
+            gen.writeFieldName(PRIORITY);
+            gen.writeString(task.priority() != null ? task.priority().name() : null);
+        }
+        if (fields.contains(TaskField.DUE_AT)) {
+            gen.writeFieldName(DUE_AT);
+            writeInstant(gen, task.dueAt(), buffer);
+        }
+        if (fields.contains(TaskField.REMIND_AT)) {
+            gen.writeFieldName(REMIND_AT);
+            writeInstant(gen, task.remindAt(), buffer);
+        }
+        if (fields.contains(TaskField.TAGS)) {
+            gen.writeFieldName(TAGS);
+            gen.writeStartArray();
+            for (String tag : task.tags()) {
+                gen.writeString(tag);
+            }
+            gen.writeEndArray();
+        }
+        if (fields.contains(TaskField.ARCHIVED)) {
+            gen.writeFieldName(ARCHIVED);
+            gen.writeBoolean(task.archived());
+        }
+        if (fields.contains(TaskField.CREATED_AT)) {
+            gen.writeFieldName(CREATED_AT);
+            writeInstant(gen, task.createdAt(), buffer);
+        }
+        if (fields.contains(TaskField.UPDATED_AT)) {
+            gen.writeFieldName(UPDATED_AT);
+            writeInstant(gen, task.updatedAt(), buffer);
+        }
+        if (fields.contains(TaskField.VERSION)) {
+            gen.writeFieldName(VERSION);
+            writeNumber(gen, task.version());
+        }
+        gen.writeEndObject();
+    }
+
+    private static void writeNumber(JsonGenerator gen, Long value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.longValue());
+        }
+    }
+
+    /**
+     * Same ISO-8601 form as Jackson's default {@code InstantSerializer} ({@code DateTimeFormatter.ISO_INSTANT}),
+     * formatted into a reused buffer instead of going through the formatter for every value.
+     */
+    private static void writeInstant(JsonGenerator gen, Instant value, char[] buffer) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+            return;
+        }
+        int length = formatInstant(value, buffer);
+        if (length < 0) {
+            gen.writeString(value.toString());
+        } else {
+            gen.writeString(buffer, 0, length);
+        }
+    }
+
+    /**
+     * @return characters written, or -1 for years outside 0000-9999
+     */
+    static int formatInstant(Instant instant, char[] buf) {
+        long seconds = instant.getEpochSecond();
+        long days = Math.floorDiv(seconds, 86_400L);
+        int secondOfDay = (int) Math.floorMod(seconds, 86_400L);
+
+        // days since epoch to civil date (H. Hinnant's algorithm)
+        long z = days + 719_468;
+        long era = Math.floorDiv(z, 146_097);
+        long dayOfEra = z - era * 146_097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long mp = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * mp + 2) / 5 + 1);
+        int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        if (year < 0 || year > 9999) {
+            return -1;
+        }
+
+        int pos = 0;
+        pos = digits(buf, pos, (int) year, 4);
+        buf[pos++] = '-';
+        pos = digits(buf, pos, month, 2);
+        buf[pos++] = '-';
+        pos = digits(buf, pos, day, 2);
+        buf[pos++] = 'T';
+        pos = digits(buf, pos, secondOfDay / 3600, 2);
+        buf[pos++] = ':';
+        pos = digits(buf, pos, secondOfDay / 60 % 60, 2);
+        buf[pos++] = ':';
+        pos = digits(buf, pos, secondOfDay % 60, 2);
+        int nanos = instant.getNano();
+        if (nanos != 0) {
+            buf[pos++] = '.';
+            if (nanos % 1_000_000 == 0) {
+                pos = digits(buf, pos, nanos / 1_000_000, 3);
+            } else if (nanos % 1_000 == 0) {
+                pos = digits(buf, pos, nanos / 1_000, 6);
+            } else {
+                pos = digits(buf, pos, nanos, 9);
+            }
+        }
+        buf[pos++] = 'Z';
+        return pos;
+    }
+
+    private static int digits(char[] buf, int pos, int value, int width) {
+        for (int i = pos + width - 1; i >= pos; i--) {
+            buf[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return pos + width;
+    }
+}
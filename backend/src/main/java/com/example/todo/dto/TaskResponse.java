@@ -1,5 +1,6 @@
 package com.example.todo.dto;
 
+import com.example.todo.domain.ArchivedTask;
 import com.example.todo.domain.Priority;
 import com.example.todo.domain.Task;
 import com.example.todo.domain.TaskStatus;
@@ -19,7 +20,8 @@ public record TaskResponse(
         Set<String> tags,
         boolean archived,
         Instant createdAt,
-        Instant updatedAt
+        Instant updatedAt,
+        Long version
 ) {
     public static TaskResponse from(Task task) {
         return new TaskResponse(
@@ -31,10 +33,29 @@ public record TaskResponse(
                 task.getPriority(),
                 task.getDueAt(),
                 task.getRemindAt(),
-                task.getTags(),
+                Set.copyOf(task.getTags()),
                 task.isArchived(),
                 task.getCreatedAt(),
-                task.getUpdatedAt()
+                task.getUpdatedAt(),
+                task.getVersion()
+        );
+    }
+
+    public static TaskResponse from(ArchivedTask task) {
+        return new TaskResponse(
+                task.getId(),
+                task.getProjectId(),
+                task.getTitle(),
+                task.getDescription(),
+                task.getStatus(),
+                task.getPriority(),
+                task.getDueAt(),
+                task.getRemindAt(),
+                Set.copyOf(task.getTags()),
+                true,
+                task.getCreatedAt(),
+                task.getUpdatedAt(),
+                task.getVersion()
         );
     }
 }
@@ -0,0 +1,18 @@
+package com.example.todo.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Tasks created and completed per bucket, oldest first; every bucket in the range is present, empty ones as zero.
+ * Weekly buckets start on Monday. Days are UTC.
+ */
+public record TaskStatsResponse(Bucket bucket, LocalDate from, LocalDate to, List<Point> points) {
+    public enum Bucket {
+        DAY,
+        WEEK
+    }
+
+    public record Point(LocalDate start, long created, long completed) {
+    }
+}
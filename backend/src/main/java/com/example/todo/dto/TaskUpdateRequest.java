@@ -9,6 +9,7 @@ import java.util.Set;
 
 /**
  * Update DTO: fields are optional to allow partial updates.
+ * When {@code version} is present the update is rejected with 409 if the task changed since it was read.
  */
 public record TaskUpdateRequest(
         Optional<String> title,
@@ -17,6 +18,7 @@ public record TaskUpdateRequest(
         Optional<Priority> priority,
         Optional<Instant> dueAt,
         Optional<Instant> remindAt,
-        Optional<Set<String>> tags
+        Optional<Set<String>> tags,
+        Optional<Long> version
 ) {
 }
@@ -0,0 +1,10 @@
+package com.example.todo.repository;
+
+import com.example.todo.domain.ArchivedTask;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ArchivedTaskRepository extends JpaRepository<ArchivedTask, Long> {
+    Page<ArchivedTask> findByProjectId(Long projectId, Pageable pageable);
+}
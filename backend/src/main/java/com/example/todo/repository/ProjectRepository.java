@@ -2,9 +2,25 @@ package com.example.todo.repository;
 
 import com.example.todo.domain.Project;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
-public interface ProjectRepository extends JpaRepository<Project, Long> {
-    java.util.List<Project> findAllByUser_IdOrderByCreatedAtDesc(Long userId);
-    java.util.Optional<Project> findByIdAndUser_Id(Long id, Long userId);
-    boolean existsByIdAndUser_Id(Long id, Long userId);
+public interface ProjectRepository extends JpaRepository<Project, Long>, ProjectRepositoryCustom {
+    java.util.List<Project> findAllByUser_IdAndHiddenFalseOrderByCreatedAtDesc(Long userId);
+    java.util.Optional<Project> findByIdAndUser_IdAndHiddenFalse(Long id, Long userId);
+
+    @Transactional
+    @Modifying
+    @Query("update Project p set p.hidden = true where p.id = :id and p.user.id = :userId and p.hidden = false")
+    int hide(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Query("select p.id as id, p.name as name from Project p where p.user.id = :userId and p.hidden = false and p.id in :ids")
+    java.util.List<ProjectName> findNames(@Param("userId") Long userId, @Param("ids") java.util.Collection<Long> ids);
+
+    interface ProjectName {
+        Long getId();
+        String getName();
+    }
 }
@@ -0,0 +1,15 @@
+package com.example.todo.repository;
+
+import com.example.todo.dto.ProjectField;
+import com.example.todo.dto.ProjectResponse;
+
+import java.util.List;
+import java.util.Set;
+
+public interface ProjectRepositoryCustom {
+
+    /**
+     * The user's visible projects, newest first, selecting only {@code fields}; other components are {@code null}.
+     */
+    List<ProjectResponse> findVisibleResponses(Long userId, Set<ProjectField> fields);
+}
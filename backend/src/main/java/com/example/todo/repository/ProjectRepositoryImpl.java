@@ -0,0 +1,44 @@
+package com.example.todo.repository;
+
+import com.example.todo.domain.Project;
+import com.example.todo.dto.ProjectField;
+import com.example.todo.dto.ProjectResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+class ProjectRepositoryImpl implements ProjectRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ProjectResponse> findVisibleResponses(Long userId, Set<ProjectField> fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Project> root = query.from(Project.class);
+        List<Selection<?>> selections = fields.stream().<Selection<?>>map(f -> root.get(f.json()).alias(f.name())).toList();
+        query.multiselect(selections)
+                .where(cb.equal(root.get("user").get("id"), userId), cb.isFalse(root.get("hidden")))
+                .orderBy(cb.desc(root.get("createdAt")));
+        return entityManager.createQuery(query).getResultList().stream()
+                .map(r -> new ProjectResponse(
+                        column(r, fields, ProjectField.ID, Long.class),
+                        column(r, fields, ProjectField.NAME, String.class),
+                        column(r, fields, ProjectField.DESCRIPTION, String.class),
+                        column(r, fields, ProjectField.CREATED_AT, Instant.class)))
+                .toList();
+    }
+
+    private static <T> T column(Tuple row, Set<ProjectField> fields, ProjectField field, Class<T> type) {
+        return fields.contains(field) ? row.get(field.name(), type) : null;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.todo.repository;
+
+import com.example.todo.domain.TaskAttachment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface TaskAttachmentRepository extends JpaRepository<TaskAttachment, Long> {
+
+    List<TaskAttachment> findByTaskIdOrderById(Long taskId);
+
+    Optional<TaskAttachment> findByIdAndUserId(Long id, Long userId);
+
+    @Query("select coalesce(sum(a.sizeBytes), 0) from TaskAttachment a where a.userId = :userId")
+    long sumSizeByUserId(@Param("userId") Long userId);
+}
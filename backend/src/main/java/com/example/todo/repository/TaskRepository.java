@@ -1,11 +1,135 @@
 package com.example.todo.repository;
 
 import com.example.todo.domain.Task;
+import com.example.todo.domain.TaskStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>, TaskRepositoryCustom,
+        TaskSearchRepository {
     List<Task> findByProjectIdAndArchivedFalse(Long projectId);
+    @EntityGraph(attributePaths = "tags")
+    Optional<Task> findByIdAndProject_User_IdAndProject_HiddenFalse(Long id, Long userId);
+
+    @EntityGraph(attributePaths = "tags")
+    List<Task> findByIdIn(Collection<Long> ids);
+    boolean existsByIdAndProject_User_IdAndProject_HiddenFalse(Long id, Long userId);
+
+    boolean existsByIdAndArchivedFalseAndProject_User_IdAndProject_HiddenFalse(Long id, Long userId);
+
+    /**
+     * Open/done/overdue counts of every project of the owner in one grouped scan; projects without active
+     * tasks have no row.
+     */
+    @Query("""
+            select t.project.id as projectId,
+                   sum(case when t.status in :open then 1 else 0 end) as open,
+                   sum(case when t.status = :done then 1 else 0 end) as done,
+                   sum(case when t.status in :open and t.dueAt < :now then 1 else 0 end) as overdue
+            from Task t
+            where t.ownerId = :userId and t.archived = false
+            group by t.project.id
+            """)
+    List<ProjectTaskCounts> countByProject(@Param("userId") Long userId, @Param("open") Collection<TaskStatus> open,
+                                           @Param("done") TaskStatus done, @Param("now") Instant now);
+
+    interface ProjectTaskCounts {
+        Long getProjectId();
+        Long getOpen();
+        Long getDone();
+        Long getOverdue();
+    }
+
+    /** Highest rank among the active tasks of the project, read from the end of idx_tasks_rank. */
+    @Query("select max(t.rank) from Task t where t.project.id = :projectId and t.archived = false")
+    Optional<String> findLastRank(@Param("projectId") Long projectId);
+
+    @Query("""
+            select min(t.rank) from Task t
+            where t.project.id = :projectId and t.archived = false and t.rank > :rank and t.id <> :excludeId
+            """)
+    Optional<String> findRankAfter(@Param("projectId") Long projectId, @Param("rank") String rank,
+                                   @Param("excludeId") Long excludeId);
+
+    @Query("""
+            select max(t.rank) from Task t
+            where t.project.id = :projectId and t.archived = false and t.rank < :rank and t.id <> :excludeId
+            """)
+    Optional<String> findRankBefore(@Param("projectId") Long projectId, @Param("rank") String rank,
+                                    @Param("excludeId") Long excludeId);
+
+    @Query("""
+            select t.id as id, t.project.id as projectId, t.rank as rank from Task t join t.project p
+            where t.id in :ids and t.ownerId = :userId and t.archived = false and p.hidden = false
+            """)
+    List<TaskRank> findRanks(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
+
+    interface TaskRank {
+        Long getId();
+        Long getProjectId();
+        String getRank();
+    }
+
+    /**
+     * The status, with the row locked until the transaction ends so concurrent updates see each other's transition.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t.status from Task t where t.id = :id")
+    Optional<TaskStatus> findStatusForUpdate(@Param("id") Long id);
+
+    @Query("select t.project.id from Task t where t.id = :id")
+    Optional<Long> findProjectIdById(@Param("id") Long id);
+
+    /**
+     * Agenda rows after the keyset {@code (dueAt, priorityRank, id)}, read in idx_tasks_agenda order.
+     */
+    @Query("""
+            select t from Task t join t.project p
+            where t.ownerId = :userId and t.archived = false and p.hidden = false
+              and t.dueAt < :to
+              and (t.dueAt > :dueAt
+                   or (t.dueAt = :dueAt and (t.priorityRank > :rank
+                                             or (t.priorityRank = :rank and t.id > :id))))
+            order by t.dueAt, t.priorityRank, t.id
+            """)
+    List<Task> findAgendaAfter(@Param("userId") Long userId, @Param("to") Instant to,
+                               @Param("dueAt") Instant dueAt, @Param("rank") int rank, @Param("id") long id,
+                               Limit limit);
+
+    /**
+     * One board column after the keyset {@code (rank, id)}, read in idx_tasks_board order.
+     */
+    @Query("""
+            select t from Task t
+            where t.project.id = :projectId and t.ownerId = :userId and t.archived = false and t.status = :status
+              and (t.rank > :rank or (t.rank = :rank and t.id > :id))
+            order by t.rank, t.id
+            """)
+    List<Task> findColumnAfter(@Param("projectId") Long projectId, @Param("userId") Long userId,
+                               @Param("status") TaskStatus status, @Param("rank") String rank, @Param("id") long id,
+                               Limit limit);
+
+    /**
+     * Like {@link #findColumnAfter} when the cursor row is not ranked yet: the remaining unranked rows (which sort
+     * first), then every ranked one.
+     */
+    @Query("""
+            select t from Task t
+            where t.project.id = :projectId and t.ownerId = :userId and t.archived = false and t.status = :status
+              and (t.rank is not null or t.id > :id)
+            order by t.rank, t.id
+            """)
+    List<Task> findColumnAfterUnranked(@Param("projectId") Long projectId, @Param("userId") Long userId,
+                                       @Param("status") TaskStatus status, @Param("id") long id, Limit limit);
 }
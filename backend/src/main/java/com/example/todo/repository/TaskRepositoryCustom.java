@@ -0,0 +1,42 @@
+package com.example.todo.repository;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Write paths that bypass entity hydration: a single targeted UPDATE instead of load + dirty-check + save.
+ */
+public interface TaskRepositoryCustom {
+
+    /**
+     * Update only the given attributes of an owned task and bump its version.
+     *
+     * @param expectedVersion when non-null the update only applies if the row is still at this version
+     * @return number of rows updated (0 when missing, not owned or version mismatch)
+     */
+    int updateColumns(Long taskId, Long userId, Long expectedVersion, Map<String, Object> changes);
+
+    /**
+     * Make the task's tags equal to {@code tags}, touching only the rows that differ. Callers lock the task row first
+     * ({@link #updateColumns} does), so concurrent diffs of the same task run one after the other.
+     *
+     * @return the rows actually inserted and deleted
+     */
+    TagChanges replaceTags(Long taskId, Set<String> tags);
+
+    /**
+     * Add and remove individual tags; adding a present tag or removing a missing one is a no-op, and a tag in both
+     * sets is removed. Same locking contract as {@link #replaceTags}.
+     *
+     * @return the rows actually inserted and deleted
+     */
+    TagChanges changeTags(Long taskId, Set<String> add, Set<String> remove);
+
+    /**
+     * Current tags read straight from {@code task_tags}.
+     */
+    Set<String> findTags(Long taskId);
+
+    record TagChanges(Set<String> added, Set<String> removed) {
+    }
+}
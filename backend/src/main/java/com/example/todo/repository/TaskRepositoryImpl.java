@@ -0,0 +1,105 @@
+package com.example.todo.repository;
+
+import com.example.todo.domain.Project;
+import com.example.todo.domain.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+class TaskRepositoryImpl implements TaskRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    TaskRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int updateColumns(Long taskId, Long userId, Long expectedVersion, Map<String, Object> changes) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Task> update = cb.createCriteriaUpdate(Task.class);
+        Root<Task> root = update.from(Task.class);
+        changes.forEach(update::set);
+        update.set(root.<Long>get("version"), cb.sum(root.<Long>get("version"), 1L));
+
+        // ownership as a subquery so the UPDATE stays single-table
+        Subquery<Long> owned = update.subquery(Long.class);
+        Root<Project> project = owned.from(Project.class);
+        owned.select(project.get("id")).where(cb.equal(project.get("user").get("id"), userId),
+                cb.isFalse(project.get("hidden")));
+
+        Predicate where = cb.and(cb.equal(root.get("id"), taskId), root.get("project").get("id").in(owned));
+        if (expectedVersion != null) {
+            where = cb.and(where, cb.equal(root.get("version"), expectedVersion));
+        }
+        update.where(where);
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    @Override
+    public TagChanges replaceTags(Long taskId, Set<String> tags) {
+        Set<String> current = lockTags(taskId);
+        Set<String> toRemove = new HashSet<>(current);
+        toRemove.removeAll(tags);
+        Set<String> toAdd = new HashSet<>(tags);
+        toAdd.removeAll(current);
+        return applyDiff(taskId, toAdd, toRemove);
+    }
+
+    @Override
+    public TagChanges changeTags(Long taskId, Set<String> add, Set<String> remove) {
+        Set<String> current = lockTags(taskId);
+        Set<String> toRemove = new HashSet<>(remove);
+        toRemove.retainAll(current);
+        Set<String> toAdd = new HashSet<>(add);
+        toAdd.removeAll(current);
+        toAdd.removeAll(remove);
+        return applyDiff(taskId, toAdd, toRemove);
+    }
+
+    @Override
+    public Set<String> findTags(Long taskId) {
+        return new HashSet<>(jdbcTemplate.queryForList("SELECT tag FROM task_tags WHERE task_id = ?", String.class, taskId));
+    }
+
+    /**
+     * A locking read sees the latest committed tags even under REPEATABLE READ, where a plain SELECT after waiting
+     * for the task row lock would still return the transaction's older snapshot and the diff would insert duplicates.
+     */
+    private Set<String> lockTags(Long taskId) {
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT tag FROM task_tags WHERE task_id = ? FOR UPDATE", String.class, taskId));
+    }
+
+    private TagChanges applyDiff(Long taskId, Set<String> toAdd, Set<String> toRemove) {
+        if (!toRemove.isEmpty()) {
+            jdbcTemplate.batchUpdate("DELETE FROM task_tags WHERE task_id = ? AND tag = ?", rows(taskId, toRemove));
+        }
+        if (!toAdd.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO task_tags (task_id, tag) VALUES (?, ?)", rows(taskId, toAdd));
+        }
+        return new TagChanges(toAdd, toRemove);
+    }
+
+    private static List<Object[]> rows(Long taskId, Set<String> tags) {
+        List<Object[]> rows = new ArrayList<>(tags.size());
+        for (String tag : tags) {
+            rows.add(new Object[]{taskId, tag});
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.todo.repository;
+
+import com.example.todo.domain.Task;
+import com.example.todo.domain.TaskStatus;
+import com.example.todo.dto.TaskField;
+import com.example.todo.dto.TaskResponse;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Read-only listing queries that return plain rows instead of managed entities.
+ */
+public interface TaskSearchRepository {
+
+    /**
+     * Page of responses selected column by column: one statement for the rows, one for their tags and, when the
+     * page is not obviously the last, one count. Nothing is attached to the persistence context.
+     *
+     * @param fields only these columns are selected (tags are not queried unless asked for); the other
+     *               components of each response are left {@code null}/{@code false}
+     */
+    Page<TaskResponse> findResponses(Specification<Task> spec, Pageable pageable, Set<TaskField> fields);
+
+    /**
+     * Evaluate the filters over all visible, non-archived tasks of the user in one statement, using window
+     * functions (which the Criteria API cannot express).
+     * Each row carries its project's total hit count, computed in the same pass; at most {@code perProject}
+     * rows are returned per project, newest first.
+     */
+    List<GlobalSearchRow> searchAcrossProjects(Long userId, Optional<String> keyword, Optional<TaskStatus> status,
+                                               Optional<Set<String>> tags, Optional<Instant> dueFrom,
+                                               Optional<Instant> dueTo, int perProject);
+
+    record GlobalSearchRow(Long taskId, Long projectId, long projectHits) {
+    }
+
+    /**
+     * First {@code perColumn} active tasks of each given status in manual order, plus each column's total, in one
+     * windowed statement over idx_tasks_board.
+     */
+    List<BoardRow> findBoard(Long projectId, Long userId, Collection<TaskStatus> statuses, int perColumn);
+
+    record BoardRow(Long taskId, TaskStatus status, String rank, long columnTotal) {
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.todo.repository;
+
+import com.example.todo.domain.Priority;
+import com.example.todo.domain.Task;
+import com.example.todo.domain.TaskStatus;
+import com.example.todo.dto.TaskField;
+import com.example.todo.dto.TaskResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+class TaskSearchRepositoryImpl implements TaskSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    TaskSearchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Page<TaskResponse> findResponses(Specification<Task> spec, Pageable pageable, Set<TaskField> fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Task> root = query.from(Task.class);
+        List<TaskField> columns = fields.stream().filter(f -> f.attributePath().length > 0).toList();
+        List<Selection<?>> selections = new ArrayList<>(columns.size());
+        for (TaskField field : columns) {
+            // project.id reads the foreign key column, no join
+            Path<?> path = root;
+            for (String attribute : field.attributePath()) {
+                path = path.get(attribute);
+            }
+            selections.add(path.alias(field.name()));
+        }
+        query.multiselect(selections);
+        Predicate where = spec.toPredicate(root, query, cb);
+        if (where != null) {
+            query.where(where);
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        List<Tuple> rows = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        Map<Long, Set<String>> tags = fields.contains(TaskField.TAGS)
+                ? findTags(rows.stream().map(r -> r.get(TaskField.ID.name(), Long.class)).toList())
+                : Map.of();
+        List<TaskResponse> content = new ArrayList<>(rows.size());
+        for (Tuple r : rows) {
+            Long id = r.get(TaskField.ID.name(), Long.class);
+            content.add(new TaskResponse(id,
+                    column(r, fields, TaskField.PROJECT_ID, Long.class),
+                    column(r, fields, TaskField.TITLE, String.class),
+                    column(r, fields, TaskField.DESCRIPTION, String.class),
+                    column(r, fields, TaskField.STATUS, TaskStatus.class),
+                    column(r, fields, TaskField.PRIORITY, Priority.class),
+                    column(r, fields, TaskField.DUE_AT, Instant.class),
+                    column(r, fields, TaskField.REMIND_AT, Instant.class),
+                    fields.contains(TaskField.TAGS) ? tags.getOrDefault(id, Set.of()) : null,
+                    Boolean.TRUE.equals(column(r, fields, TaskField.ARCHIVED, Boolean.class)),
+                    column(r, fields, TaskField.CREATED_AT, Instant.class),
+                    column(r, fields, TaskField.UPDATED_AT, Instant.class),
+                    column(r, fields, TaskField.VERSION, Long.class)));
+        }
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(spec));
+    }
+
+    private static <T> T column(Tuple row, Set<TaskField> fields, TaskField field, Class<T> type) {
+        return fields.contains(field) ? row.get(field.name(), type) : null;
+    }
+
+    private Map<Long, Set<String>> findTags(List<Long> taskIds) {
+        Map<Long, Set<String>> tags = new HashMap<>();
+        if (taskIds.isEmpty()) {
+            return tags;
+        }
+        entityManager.createQuery("select t.id, tag from Task t join t.tags tag where t.id in :ids", Object[].class)
+                .setParameter("ids", taskIds)
+                .getResultList()
+                .forEach(r -> tags.computeIfAbsent((Long) r[0], id -> new LinkedHashSet<>()).add((String) r[1]));
+        return tags;
+    }
+
+    private long count(Specification<Task> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Task> root = query.from(Task.class);
+        query.select(cb.count(root));
+        Predicate where = spec.toPredicate(root, query, cb);
+        if (where != null) {
+            query.where(where);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    @Override
+    public List<GlobalSearchRow> searchAcrossProjects(Long userId, Optional<String> keyword, Optional<TaskStatus> status,
+                                                      Optional<Set<String>> tags, Optional<Instant> dueFrom,
+                                                      Optional<Instant> dueTo, int perProject) {
+        StringBuilder where = new StringBuilder("t.user_id = ? AND t.archived = FALSE AND p.hidden = FALSE");
+        List<Object> args = new ArrayList<>();
+        args.add(userId);
+        keyword.filter(k -> !k.isBlank()).ifPresent(k -> {
+            String like = "%" + k.toLowerCase() + "%";
+            where.append(" AND (LOWER(t.title) LIKE ? OR LOWER(t.description) LIKE ?)");
+            args.add(like);
+            args.add(like);
+        });
+        status.ifPresent(s -> {
+            where.append(" AND t.status = ?");
+            args.add(s.name());
+        });
+        tags.filter(t -> !t.isEmpty()).ifPresent(t -> {
+            where.append(" AND EXISTS (SELECT 1 FROM task_tags tt WHERE tt.task_id = t.id AND tt.tag IN (")
+                    .append(String.join(",", Collections.nCopies(t.size(), "?"))).append("))");
+            args.addAll(t);
+        });
+        dueFrom.ifPresent(d -> {
+            where.append(" AND t.due_at >= ?");
+            args.add(Timestamp.from(d));
+        });
+        dueTo.ifPresent(d -> {
+            where.append(" AND t.due_at < ?");
+            args.add(Timestamp.from(d));
+        });
+        args.add(perProject);
+
+        String sql = "SELECT id, project_id, hits FROM ("
+                + "SELECT t.id, t.project_id,"
+                + " ROW_NUMBER() OVER (PARTITION BY t.project_id ORDER BY t.created_at DESC, t.id DESC) AS rn,"
+                + " COUNT(*) OVER (PARTITION BY t.project_id) AS hits"
+                + " FROM tasks t JOIN projects p ON p.id = t.project_id"
+                + " WHERE " + where
+                + ") ranked WHERE rn <= ? ORDER BY hits DESC, project_id, rn";
+        return jdbcTemplate.query(sql, (rs, i) -> new GlobalSearchRow(rs.getLong(1), rs.getLong(2), rs.getLong(3)),
+                args.toArray());
+    }
+
+    @Override
+    public List<BoardRow> findBoard(Long projectId, Long userId, Collection<TaskStatus> statuses, int perColumn) {
+        List<Object> args = new ArrayList<>();
+        args.add(projectId);
+        args.add(userId);
+        statuses.forEach(s -> args.add(s.name()));
+        args.add(perColumn);
+        String sql = "SELECT id, status, sort_rank, total FROM ("
+                + "SELECT t.id, t.status, t.sort_rank,"
+                + " ROW_NUMBER() OVER (PARTITION BY t.status ORDER BY t.sort_rank, t.id) AS rn,"
+                + " COUNT(*) OVER (PARTITION BY t.status) AS total"
+                + " FROM tasks t"
+                + " WHERE t.project_id = ? AND t.user_id = ? AND t.archived = FALSE"
+                + " AND t.status IN (" + String.join(",", Collections.nCopies(statuses.size(), "?")) + ")"
+                + ") ranked WHERE rn <= ? ORDER BY status, rn";
+        return jdbcTemplate.query(sql, (rs, i) -> new BoardRow(rs.getLong(1), TaskStatus.valueOf(rs.getString(2)),
+                rs.getString(3), rs.getLong(4)), args.toArray());
+    }
+}
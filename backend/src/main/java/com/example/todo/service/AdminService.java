@@ -1,20 +1,48 @@
 package com.example.todo.service;
 
+import com.example.todo.config.TraceBuffer;
+import com.example.todo.domain.User;
+import com.example.todo.exception.NotFoundException;
 import lombok.RequiredArgsConstructor;
-import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class AdminService {
-    private final JdbcTemplate jdbcTemplate;
+    private final PurgeService purgeService;
+    private final CurrentUserService currentUserService;
+    private final TaskSearchCache searchCache;
+    private final TagSuggestService tagSuggestService;
+    private final TraceBuffer traceBuffer;
+
+    /**
+     * Clear the current user's projects, tasks and tags in the background; other users are untouched.
+     */
+    public PurgeJob clearDatabase() {
+        User user = currentUserService.getCurrentUser();
+        PurgeJob job = purgeService.purgeUser(user.getId());
+        searchCache.invalidateAll();
+        tagSuggestService.invalidate(user.getEmail());
+        return job;
+    }
+
+    public PurgeJob findJob(String jobId) {
+        Long userId = currentUserService.getCurrentUser().getId();
+        return purgeService.find(jobId, userId)
+                .orElseThrow(() -> new NotFoundException("Purge job not found: " + jobId));
+    }
 
-    public void clearDatabase() {
-        // Disable FK checks to truncate safely
-        jdbcTemplate.execute("SET FOREIGN_KEY_CHECKS=0");
-        jdbcTemplate.execute("TRUNCATE TABLE task_tags");
-        jdbcTemplate.execute("TRUNCATE TABLE tasks");
-        jdbcTemplate.execute("TRUNCATE TABLE projects");
-        jdbcTemplate.execute("SET FOREIGN_KEY_CHECKS=1");
+    /**
+     * Recent slow or failed request traces of all users, so only for the ADMIN role.
+     */
+    public List<TraceBuffer.TraceRecord> traces() {
+        if (!"ADMIN".equals(currentUserService.getCurrentUser().getRole())) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "无权限");
+        }
+        return traceBuffer.snapshot();
     }
 }
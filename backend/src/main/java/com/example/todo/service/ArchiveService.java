@@ -0,0 +1,159 @@
+package com.example.todo.service;
+
+import com.example.todo.domain.ArchivedTask;
+import com.example.todo.domain.Task;
+import com.example.todo.domain.User;
+import com.example.todo.dto.TaskResponse;
+import com.example.todo.exception.NotFoundException;
+import com.example.todo.repository.ArchivedTaskRepository;
+import com.example.todo.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Hot/cold split for archived tasks: archiving moves the row from {@code tasks}/{@code task_tags} into
+ * {@code tasks_archive}/{@code task_tags_archive} in the same transaction, a background mover sweeps up rows flagged
+ * {@code archived} any other way, and restore moves a task back.
+ */
+@Service
+public class ArchiveService {
+    private static final Logger log = LoggerFactory.getLogger(ArchiveService.class);
+
+    private static final String TASK_COLUMNS =
+            "id, project_id, title, description, status, priority, due_at, remind_at, created_at, updated_at, version";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final TaskRepository taskRepository;
+    private final ProjectService projectService;
+    private final CurrentUserService currentUserService;
+    private final TaskSearchCache searchCache;
+    private final TaskRankService rankService;
+    private final TagSuggestService tagSuggestService;
+    private final int batchSize;
+
+    public ArchiveService(JdbcTemplate jdbcTemplate,
+                          TransactionTemplate transactionTemplate,
+                          ArchivedTaskRepository archivedTaskRepository,
+                          TaskRepository taskRepository,
+                          ProjectService projectService,
+                          CurrentUserService currentUserService,
+                          TaskSearchCache searchCache,
+                          TaskRankService rankService,
+                          TagSuggestService tagSuggestService,
+                          @Value("${todo.archive.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.archivedTaskRepository = archivedTaskRepository;
+        this.taskRepository = taskRepository;
+        this.projectService = projectService;
+        this.currentUserService = currentUserService;
+        this.searchCache = searchCache;
+        this.rankService = rankService;
+        this.tagSuggestService = tagSuggestService;
+        this.batchSize = batchSize;
+    }
+
+    @Transactional(readOnly = true)
+    public Page<TaskResponse> search(Long projectId, int page, int size) {
+        projectService.findById(projectId);
+        // tags are batch-loaded (@BatchSize) while mapping, inside this transaction
+        return archivedTaskRepository.findByProjectId(projectId,
+                PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "archivedAt"))).map(TaskResponse::from);
+    }
+
+    /**
+     * Bring a task back to the active table, whether or not the mover has already picked it up.
+     */
+    @Transactional
+    public Task restore(Long taskId) {
+        User user = currentUserService.getCurrentUser();
+        Long userId = user.getId();
+        ArchivedTask archived = archivedTaskRepository.findById(taskId).orElse(null);
+        if (archived != null) {
+            projectService.findById(archived.getProjectId());
+            // the manual position is not archived; a restored task goes to the bottom of the project
+            jdbcTemplate.update("INSERT INTO tasks (" + TASK_COLUMNS + ", user_id, archived, sort_rank) SELECT " + TASK_COLUMNS
+                    + ", ?, FALSE, ? FROM tasks_archive WHERE id = ?", userId, rankService.nextRank(archived.getProjectId()), taskId);
+            jdbcTemplate.update("INSERT INTO task_tags (task_id, tag) SELECT task_id, tag FROM task_tags_archive WHERE task_id = ?", taskId);
+            jdbcTemplate.update("DELETE FROM task_tags_archive WHERE task_id = ?", taskId);
+            jdbcTemplate.update("DELETE FROM tasks_archive WHERE id = ?", taskId);
+        } else if (taskRepository.updateColumns(taskId, userId, null,
+                Map.of("archived", false, "updatedAt", Instant.now())) == 0) {
+            throw new NotFoundException("Archived task not found: " + taskId);
+        }
+        Task task = taskRepository.findByIdAndProject_User_IdAndProject_HiddenFalse(taskId, userId)
+                .orElseThrow(() -> new NotFoundException("Archived task not found: " + taskId));
+        searchCache.invalidateProject(task.getProject().getId());
+        tagSuggestService.tagsChanged(user.getEmail(), taskRepository.findTags(taskId), Set.of());
+        return task;
+    }
+
+    @Scheduled(fixedDelayString = "${todo.archive.mover-interval-ms:30000}",
+            initialDelayString = "${todo.archive.mover-interval-ms:30000}")
+    public void moveArchived() {
+        long moved = 0;
+        while (true) {
+            Integer count = transactionTemplate.execute(s -> moveBatch());
+            if (count == null || count == 0) {
+                break;
+            }
+            moved += count;
+        }
+        if (moved > 0) {
+            log.info("Moved {} archived tasks to cold storage", moved);
+        }
+    }
+
+    /**
+     * Move the given (already flagged) tasks to the cold tables as part of the caller's transaction, so the archived
+     * listing sees them as soon as it commits.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void moveToCold(List<Long> ids) {
+        if (!ids.isEmpty()) {
+            copyToCold(ids);
+        }
+    }
+
+    private int moveBatch() {
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM tasks WHERE archived = TRUE ORDER BY id LIMIT ? FOR UPDATE", Long.class, batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        copyToCold(ids);
+        return ids.size();
+    }
+
+    private void copyToCold(List<Long> ids) {
+        String in = String.join(",", Collections.nCopies(ids.size(), "?"));
+        Object[] args = ids.toArray();
+        Object[] insertArgs = new Object[args.length + 1];
+        insertArgs[0] = Timestamp.from(Instant.now());
+        System.arraycopy(args, 0, insertArgs, 1, args.length);
+        jdbcTemplate.update("INSERT INTO tasks_archive (" + TASK_COLUMNS + ", archived_at) SELECT " + TASK_COLUMNS
+                + ", ? FROM tasks WHERE id IN (" + in + ")", insertArgs);
+        jdbcTemplate.update("INSERT INTO task_tags_archive (task_id, tag) SELECT task_id, tag FROM task_tags WHERE task_id IN (" + in + ")", args);
+        jdbcTemplate.update("DELETE FROM task_tags WHERE task_id IN (" + in + ")", args);
+        jdbcTemplate.update("DELETE FROM tasks WHERE id IN (" + in + ")", args);
+    }
+}
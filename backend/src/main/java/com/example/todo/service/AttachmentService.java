@@ -0,0 +1,248 @@
+package com.example.todo.service;
+
+import com.example.todo.domain.TaskAttachment;
+import com.example.todo.domain.User;
+import com.example.todo.dto.AttachmentResponse;
+import com.example.todo.exception.NotFoundException;
+import com.example.todo.repository.TaskAttachmentRepository;
+import com.example.todo.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Task attachments on the local filesystem under {@code todo.attachments.root}, metadata in {@code task_attachments}.
+ * The multipart upload is already spooled to disk by the container, so storing it is a rename of that file, never a
+ * copy through the heap. Each user's attachments together may not exceed {@code todo.attachments.quota-bytes}.
+ * Files are removed only after the transaction that deleted their rows commits.
+ * <p>
+ * Attachments are reachable exactly while their task is: not archived and in a visible project of the current user.
+ * The same check guards listing, upload, download and delete. Attachments of an archived task are kept for its restore
+ * and still count toward the quota; to free that space, restore the task first.
+ */
+@Service
+public class AttachmentService {
+    private static final Logger log = LoggerFactory.getLogger(AttachmentService.class);
+    private static final Pattern KEY = Pattern.compile("[0-9a-f]{32}");
+    private static final int MAX_FILE_NAME_LENGTH = 255;
+    private static final int MAX_CONTENT_TYPE_LENGTH = 100;
+
+    private final TaskAttachmentRepository attachmentRepository;
+    private final TaskRepository taskRepository;
+    private final CurrentUserService currentUserService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Path root;
+    private final long maxBytes;
+    private final long quotaBytes;
+
+    public AttachmentService(TaskAttachmentRepository attachmentRepository,
+                             TaskRepository taskRepository,
+                             CurrentUserService currentUserService,
+                             JdbcTemplate jdbcTemplate,
+                             TransactionTemplate transactionTemplate,
+                             @Value("${todo.attachments.root:data/attachments}") String root,
+                             @Value("${todo.attachments.max-bytes:26214400}") long maxBytes,
+                             @Value("${todo.attachments.quota-bytes:209715200}") long quotaBytes) {
+        this.attachmentRepository = attachmentRepository;
+        this.taskRepository = taskRepository;
+        this.currentUserService = currentUserService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+        this.maxBytes = maxBytes;
+        this.quotaBytes = quotaBytes;
+    }
+
+    public List<AttachmentResponse> list(Long taskId) {
+        requireTask(taskId, currentUserService.getCurrentUser().getId());
+        return attachmentRepository.findByTaskIdOrderById(taskId).stream().map(AttachmentResponse::from).toList();
+    }
+
+    public AttachmentResponse upload(Long taskId, MultipartFile file) {
+        User user = currentUserService.getCurrentUser();
+        requireTask(taskId, user.getId());
+        long size = file.getSize();
+        if (size == 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Attachment is empty");
+        }
+        if (size > maxBytes) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "Attachment exceeds " + maxBytes + " bytes");
+        }
+        TaskAttachment attachment = new TaskAttachment();
+        attachment.setTaskId(taskId);
+        attachment.setUserId(user.getId());
+        attachment.setFileName(fileName(file.getOriginalFilename()));
+        attachment.setContentType(contentType(file.getContentType()));
+        attachment.setSizeBytes(size);
+        attachment.setStorageKey(UUID.randomUUID().toString().replace("-", ""));
+
+        Path target = pathOf(attachment.getStorageKey());
+        try {
+            Files.createDirectories(target.getParent());
+            // the File overload lets the container move its spooled part instead of streaming it
+            file.transferTo(target.toFile());
+        } catch (IOException e) {
+            deleteFile(attachment.getStorageKey());
+            throw new UncheckedIOException(e);
+        }
+        try {
+            return transactionTemplate.execute(s -> {
+                // one upload per user at a time past this point, so concurrent uploads cannot both fit the quota
+                jdbcTemplate.queryForObject("SELECT id FROM users WHERE id = ? FOR UPDATE", Long.class, user.getId());
+                // and check the task again under its row lock: a concurrent delete or archive either commits first
+                // and is seen here, or waits for this row and then takes it along
+                if (jdbcTemplate.queryForList("SELECT id FROM tasks WHERE id = ? AND archived = FALSE FOR UPDATE",
+                        Long.class, taskId).isEmpty()) {
+                    throw new NotFoundException("Task not found: " + taskId);
+                }
+                requireTask(taskId, user.getId());
+                long used = attachmentRepository.sumSizeByUserId(user.getId());
+                if (used + size > quotaBytes) {
+                    throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                            "Attachment quota exceeded: " + used + " of " + quotaBytes + " bytes used");
+                }
+                return AttachmentResponse.from(attachmentRepository.save(attachment));
+            });
+        } catch (RuntimeException e) {
+            deleteFile(attachment.getStorageKey());
+            throw e;
+        }
+    }
+
+    /**
+     * A visible attachment (see above) whose file is present.
+     */
+    public TaskAttachment find(Long attachmentId) {
+        TaskAttachment attachment = findVisible(attachmentId, currentUserService.getCurrentUser().getId());
+        if (!Files.isRegularFile(pathOf(attachment.getStorageKey()))) {
+            throw new NotFoundException("Attachment not found: " + attachmentId);
+        }
+        return attachment;
+    }
+
+    public Path file(TaskAttachment attachment) {
+        return pathOf(attachment.getStorageKey());
+    }
+
+    public void delete(Long attachmentId) {
+        Long userId = currentUserService.getCurrentUser().getId();
+        transactionTemplate.executeWithoutResult(s -> {
+            TaskAttachment attachment = findVisible(attachmentId, userId);
+            attachmentRepository.delete(attachment);
+            afterCommit(List.of(attachment.getStorageKey()));
+        });
+    }
+
+    /**
+     * Remove every attachment of the given (deleted) tasks: the rows in the current transaction, the files after it
+     * commits.
+     *
+     * @return number of attachments removed
+     */
+    public int deleteForTasks(Collection<Long> taskIds) {
+        if (taskIds.isEmpty()) {
+            return 0;
+        }
+        String in = String.join(",", Collections.nCopies(taskIds.size(), "?"));
+        Object[] args = taskIds.toArray();
+        // a locking read, so an upload that committed while the caller waited for the task row is not missed
+        List<String> keys = jdbcTemplate.queryForList(
+                "SELECT storage_key FROM task_attachments WHERE task_id IN (" + in + ") FOR UPDATE", String.class, args);
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.update("DELETE FROM task_attachments WHERE task_id IN (" + in + ")", args);
+        afterCommit(keys);
+        return keys.size();
+    }
+
+    private void requireTask(Long taskId, Long userId) {
+        if (!taskVisible(taskId, userId)) {
+            throw new NotFoundException("Task not found: " + taskId);
+        }
+    }
+
+    private TaskAttachment findVisible(Long attachmentId, Long userId) {
+        return attachmentRepository.findByIdAndUserId(attachmentId, userId)
+                .filter(a -> taskVisible(a.getTaskId(), userId))
+                .orElseThrow(() -> new NotFoundException("Attachment not found: " + attachmentId));
+    }
+
+    private boolean taskVisible(Long taskId, Long userId) {
+        return taskRepository.existsByIdAndArchivedFalseAndProject_User_IdAndProject_HiddenFalse(taskId, userId);
+    }
+
+    private void afterCommit(List<String> keys) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            keys.forEach(this::deleteFile);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                keys.forEach(AttachmentService.this::deleteFile);
+            }
+        });
+    }
+
+    private void deleteFile(String key) {
+        try {
+            Files.deleteIfExists(pathOf(key));
+        } catch (IOException e) {
+            // the row is gone either way; a leftover file only costs disk space
+            log.warn("Could not delete attachment file {}", key, e);
+        }
+    }
+
+    /**
+     * Keys are generated here and checked again, so a path can never leave the root.
+     */
+    private Path pathOf(String key) {
+        if (!KEY.matcher(key).matches()) {
+            throw new IllegalArgumentException("Invalid storage key: " + key);
+        }
+        return root.resolve(key.substring(0, 2)).resolve(key);
+    }
+
+    private static String fileName(String original) {
+        String name = original == null ? "" : original.substring(Math.max(original.lastIndexOf('/'), original.lastIndexOf('\\')) + 1);
+        name = name.replaceAll("\\p{Cntrl}", "").strip();
+        if (name.isEmpty()) {
+            return "attachment";
+        }
+        return name.length() > MAX_FILE_NAME_LENGTH ? name.substring(name.length() - MAX_FILE_NAME_LENGTH) : name;
+    }
+
+    private static String contentType(String declared) {
+        if (declared == null || declared.length() > MAX_CONTENT_TYPE_LENGTH) {
+            return MediaType.APPLICATION_OCTET_STREAM_VALUE;
+        }
+        try {
+            return MediaType.parseMediaType(declared).toString();
+        } catch (InvalidMediaTypeException e) {
+            return MediaType.APPLICATION_OCTET_STREAM_VALUE;
+        }
+    }
+}
@@ -4,14 +4,19 @@ import com.example.todo.domain.User;
 import com.example.todo.dto.*;
 import com.example.todo.repository.UserRepository;
 import com.example.todo.config.JwtService;
+import io.jsonwebtoken.Claims;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.http.HttpStatus;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.Optional;
 
 @Service
@@ -21,13 +26,17 @@ public class AuthService {
     private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
     private final VerificationService verificationService;
+    private final AvatarService avatarService;
+    private final TokenRevocationService revocationService;
 
-    public AuthService(UserRepository userRepository, PasswordEncoder passwordEncoder, AuthenticationManager authenticationManager, JwtService jwtService, VerificationService verificationService) {
+    public AuthService(UserRepository userRepository, PasswordEncoder passwordEncoder, AuthenticationManager authenticationManager, JwtService jwtService, VerificationService verificationService, AvatarService avatarService, TokenRevocationService revocationService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.authenticationManager = authenticationManager;
         this.jwtService = jwtService;
         this.verificationService = verificationService;
+        this.avatarService = avatarService;
+        this.revocationService = revocationService;
     }
 
     public LoginResponse login(LoginRequest request) {
@@ -37,6 +46,28 @@ public class AuthService {
         return new LoginResponse(token, MeResponse.from(user));
     }
 
+    /**
+     * Revoke the presented token only; other sessions stay signed in.
+     */
+    public void logout(String token) {
+        Claims claims;
+        try {
+            claims = jwtService.parseClaims(token);
+        } catch (Exception e) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "未登录");
+        }
+        if (claims.getId() != null) {
+            revocationService.revoke(claims.getId(), claims.getExpiration().toInstant());
+        } else {
+            // issued before tokens had ids: the only way to kill it is to end every session
+            revocationService.revokeAll(claims.getSubject());
+        }
+    }
+
+    public void logoutEverywhere(String email) {
+        revocationService.revokeAll(email);
+    }
+
     @Transactional
     public MeResponse register(RegisterRequest request) {
         if (request.getCode() == null || request.getCode().isBlank() || !verificationService.verify(request.getEmail(), request.getCode())) {
@@ -59,10 +90,22 @@ public class AuthService {
     public MeResponse updateProfile(String email, UpdateProfileRequest req) {
         User user = userRepository.findByEmail(email).orElseThrow();
         user.setDisplayName(req.getDisplayName());
-        user.setAvatarUrl(req.getAvatarUrl());
+        user.setAvatarUrl(avatarService.normalize(req.getAvatarUrl()));
+        return MeResponse.from(user);
+    }
+
+    @Transactional
+    public MeResponse updateAvatar(String email, MultipartFile file) {
+        User user = userRepository.findByEmail(email).orElseThrow();
+        try (InputStream in = file.getInputStream()) {
+            user.setAvatarUrl(avatarService.store(in, file.getContentType()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
         return MeResponse.from(user);
     }
 
+    @Transactional(readOnly = true)
     public MeResponse findMe(String email) {
         return userRepository.findByEmail(email).map(MeResponse::from).orElseThrow();
     }
@@ -0,0 +1,204 @@
+package com.example.todo.service;
+
+import com.example.todo.exception.NotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed avatar store on the local filesystem. Files are named by the SHA-256 of their bytes,
+ * so identical uploads are stored once and a stored file never changes; {@code users.avatar_url} only keeps
+ * the short {@code /api/avatars/<hash>.<ext>} reference.
+ */
+@Service
+public class AvatarService {
+    public static final String URL_PREFIX = "/api/avatars/";
+
+    /** Legacy images of other types, kept but served as plain bytes. */
+    private static final String GENERIC_EXTENSION = "bin";
+    private static final Map<String, String> EXTENSIONS = Map.of(
+            "image/png", "png",
+            "image/jpeg", "jpg",
+            "image/gif", "gif",
+            "image/webp", "webp");
+    private static final Map<String, MediaType> MEDIA_TYPES = Map.of(
+            "png", MediaType.IMAGE_PNG,
+            "jpg", MediaType.IMAGE_JPEG,
+            "gif", MediaType.IMAGE_GIF,
+            "webp", MediaType.parseMediaType("image/webp"),
+            GENERIC_EXTENSION, MediaType.APPLICATION_OCTET_STREAM);
+    private static final Pattern NAME = Pattern.compile("[0-9a-f]{64}\\.(png|jpg|gif|webp|bin)");
+    private static final int MAX_REFERENCE_LENGTH = 500;
+
+    private final Path root;
+    private final long maxBytes;
+
+    public AvatarService(@Value("${todo.avatar.root:data/avatars}") String root,
+                         @Value("${todo.avatar.max-bytes:2097152}") long maxBytes) {
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Turn whatever the client sent as {@code avatarUrl} into what is stored in {@code users.avatar_url}:
+     * data URLs are moved into the store, short references and http(s) URLs are kept as they are.
+     */
+    public String normalize(String avatarUrl) {
+        if (avatarUrl == null || avatarUrl.isBlank()) {
+            return null;
+        }
+        if (avatarUrl.startsWith("data:")) {
+            return storeDataUrl(avatarUrl);
+        }
+        boolean reference = avatarUrl.startsWith(URL_PREFIX) && NAME.matcher(avatarUrl.substring(URL_PREFIX.length())).matches();
+        boolean external = avatarUrl.startsWith("https://") || avatarUrl.startsWith("http://");
+        if ((!reference && !external) || avatarUrl.length() > MAX_REFERENCE_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "头像地址无效");
+        }
+        return avatarUrl;
+    }
+
+    public String storeDataUrl(String dataUrl) {
+        int comma = dataUrl.indexOf(',');
+        String header = comma > 0 ? dataUrl.substring(5, comma) : "";
+        if (!header.endsWith(";base64")) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "头像格式不支持");
+        }
+        byte[] bytes;
+        try {
+            bytes = Base64.getMimeDecoder().decode(dataUrl.substring(comma + 1));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "头像数据无效");
+        }
+        return store(new ByteArrayInputStream(bytes), header.substring(0, header.length() - ";base64".length()));
+    }
+
+    /**
+     * For data URLs saved before uploads were checked: images of any type and size were legal then, so they are all
+     * kept, types outside the accepted ones under the generic {@code .bin} name.
+     *
+     * @throws IllegalArgumentException only when the payload cannot be decoded
+     */
+    public String storeLegacyDataUrl(String dataUrl) {
+        int comma = dataUrl.indexOf(',');
+        if (!dataUrl.startsWith("data:") || comma < 0) {
+            throw new IllegalArgumentException("Not a data URL");
+        }
+        String header = dataUrl.substring(5, comma);
+        String payload = dataUrl.substring(comma + 1);
+        boolean base64 = header.endsWith(";base64");
+        byte[] bytes = base64
+                ? Base64.getMimeDecoder().decode(payload)
+                // '+' is a literal in data URLs, not an encoded space
+                : URLDecoder.decode(payload.replace("+", "%2B"), StandardCharsets.UTF_8).getBytes(StandardCharsets.UTF_8);
+        if (bytes.length == 0) {
+            throw new IllegalArgumentException("Empty data URL");
+        }
+        String contentType = (base64 ? header.substring(0, header.length() - ";base64".length()) : header).split(";")[0];
+        String extension = EXTENSIONS.getOrDefault(contentType.strip().toLowerCase(), GENERIC_EXTENSION);
+        return write(new ByteArrayInputStream(bytes), extension, Long.MAX_VALUE);
+    }
+
+    /**
+     * Stream the image into the store while hashing it and return its reference URL.
+     */
+    public String store(InputStream in, String contentType) {
+        String extension = contentType != null ? EXTENSIONS.get(contentType.toLowerCase()) : null;
+        if (extension == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "头像格式不支持");
+        }
+        return write(in, extension, maxBytes);
+    }
+
+    private String write(InputStream in, String extension, long limit) {
+        try {
+            Files.createDirectories(root);
+            Path temp = Files.createTempFile(root, "upload-", ".tmp");
+            try {
+                MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                long size;
+                try (OutputStream out = new DigestOutputStream(Files.newOutputStream(temp), digest)) {
+                    size = copyLimited(in, out, limit);
+                }
+                if (size == 0) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "头像数据无效");
+                }
+                String name = HexFormat.of().formatHex(digest.digest()) + "." + extension;
+                Path target = pathOf(name);
+                Files.createDirectories(target.getParent());
+                if (!Files.exists(target)) {
+                    try {
+                        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                    } catch (FileAlreadyExistsException ignored) {
+                        // same content stored concurrently
+                    }
+                }
+                return URL_PREFIX + name;
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Resolve a stored avatar for download; only well-formed names are accepted, so there is no path traversal.
+     */
+    public Path find(String name) {
+        if (!NAME.matcher(name).matches()) {
+            throw new NotFoundException("Avatar not found: " + name);
+        }
+        Path path = pathOf(name);
+        if (!Files.isRegularFile(path)) {
+            throw new NotFoundException("Avatar not found: " + name);
+        }
+        return path;
+    }
+
+    public MediaType mediaType(String name) {
+        return MEDIA_TYPES.get(name.substring(name.lastIndexOf('.') + 1));
+    }
+
+    private Path pathOf(String name) {
+        return root.resolve(name.substring(0, 2)).resolve(name);
+    }
+
+    private static long copyLimited(InputStream in, OutputStream out, long limit) throws IOException {
+        byte[] buffer = new byte[8192];
+        long total = 0;
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            total += read;
+            if (total > limit) {
+                throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "头像过大");
+            }
+            out.write(buffer, 0, read);
+        }
+        return total;
+    }
+}
@@ -17,11 +17,18 @@ public class CurrentUserService {
     }
 
     public User getCurrentUser() {
+        return userRepository.findByEmail(getCurrentUsername())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "未登录"));
+    }
+
+    /**
+     * The authenticated email, without a database lookup.
+     */
+    public String getCurrentUsername() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         if (auth == null || auth.getName() == null) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "未登录");
         }
-        return userRepository.findByEmail(auth.getName())
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "未登录"));
+        return auth.getName();
     }
 }
@@ -0,0 +1,107 @@
+package com.example.todo.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Variable-length base-36 keys ({@code 0-9a-z}) that sort lexicographically, so a key can always be made up between
+ * two neighbours without touching any other row. Lower-case only, so the order is the same under case-insensitive
+ * collations. No key ends in {@code '0'}, which guarantees there is room between any two distinct keys.
+ */
+public final class FractionalRank {
+    private static final String DIGITS = "0123456789abcdefghijklmnopqrstuvwxyz";
+    private static final int BASE = DIGITS.length();
+
+    private FractionalRank() {
+    }
+
+    /**
+     * A key strictly between {@code lower} and {@code upper}; {@code null} means open-ended on that side.
+     */
+    public static String between(String lower, String upper) {
+        String lo = lower != null ? lower : "";
+        if (upper != null && lo.compareTo(upper) >= 0) {
+            throw new IllegalArgumentException("No key between " + lower + " and " + upper);
+        }
+        // appending and moving to the top are the common cases: step one digit instead of halving, so keys grow by
+        // one character per ~35 moves to the same end rather than per ~5
+        if (upper == null && !lo.isEmpty()) {
+            for (int i = 0; i < lo.length(); i++) {
+                int d = digit(lo.charAt(i));
+                if (d < BASE - 1) {
+                    return lo.substring(0, i) + DIGITS.charAt(d + 1);
+                }
+            }
+            return lo + DIGITS.charAt(1);
+        }
+        if (lower == null && upper != null) {
+            int zeros = 0;
+            for (int i = 0; i < upper.length(); i++) {
+                int d = digit(upper.charAt(i));
+                if (d > 1) {
+                    return upper.substring(0, i) + DIGITS.charAt(d - 1);
+                }
+                if (d == 0 && zeros == i) {
+                    zeros++;
+                }
+            }
+            return "0".repeat(zeros + 1) + DIGITS.charAt(BASE - 1);
+        }
+        StringBuilder key = new StringBuilder();
+        String hi = upper;
+        for (int i = 0; ; i++) {
+            int l = i < lo.length() ? digit(lo.charAt(i)) : 0;
+            int h = hi != null && i < hi.length() ? digit(hi.charAt(i)) : BASE;
+            if (l == h) {
+                key.append(DIGITS.charAt(l));
+                continue;
+            }
+            int mid = (l + h) / 2;
+            if (mid > l) {
+                return key.append(DIGITS.charAt(mid)).toString();
+            }
+            // adjacent digits: keep lo's digit, anything longer is below hi from here on
+            key.append(DIGITS.charAt(l));
+            hi = null;
+        }
+    }
+
+    /**
+     * {@code count} evenly spaced keys of equal width, leaving at least {@link #BASE} free slots around each.
+     */
+    public static List<String> spread(int count) {
+        int width = 1;
+        long space = BASE;
+        while (space < (count + 1L) * BASE) {
+            width++;
+            space *= BASE;
+        }
+        long step = space / (count + 1L);
+        List<String> keys = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            keys.add(encode(step * i, width));
+        }
+        return keys;
+    }
+
+    private static String encode(long value, int width) {
+        char[] chars = new char[width];
+        for (int i = width - 1; i >= 0; i--) {
+            chars[i] = DIGITS.charAt((int) (value % BASE));
+            value /= BASE;
+        }
+        int end = width;
+        while (end > 1 && chars[end - 1] == '0') {
+            end--;
+        }
+        return new String(chars, 0, end);
+    }
+
+    private static int digit(char c) {
+        int d = DIGITS.indexOf(c);
+        if (d < 0) {
+            throw new IllegalArgumentException("Not a rank key: " + c);
+        }
+        return d;
+    }
+}
@@ -1,30 +1,89 @@
 package com.example.todo.service;
 
 import com.example.todo.domain.Project;
+import com.example.todo.domain.TaskStatus;
+import com.example.todo.domain.User;
+import com.example.todo.dto.ProjectField;
 import com.example.todo.dto.ProjectRequest;
+import com.example.todo.dto.ProjectResponse;
+import com.example.todo.dto.TaskCounts;
 import com.example.todo.exception.NotFoundException;
 import com.example.todo.repository.ProjectRepository;
+import com.example.todo.repository.TaskRepository;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.http.HttpStatus;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ProjectService {
+    private static final Set<TaskStatus> OPEN_STATUSES = EnumSet.of(TaskStatus.TODO, TaskStatus.DOING);
+
     private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
     private final CurrentUserService currentUserService;
+    private final PurgeService purgeService;
+    private final SingleFlight singleFlight;
+    private final TaskSearchCache searchCache;
+    private final TagSuggestService tagSuggestService;
+
+    /**
+     * Only the given columns of the user's projects; concurrent identical calls share one query.
+     */
+    public List<ProjectResponse> findAll(Set<ProjectField> fields) {
+        return singleFlight.execute("project-list", List.of(currentUserService.getCurrentUsername(), fields), () ->
+                projectRepository.findVisibleResponses(currentUserService.getCurrentUser().getId(), fields));
+    }
+
+    /**
+     * Task counts of every visible project, keyed by project id, from one grouped query.
+     */
+    public Map<Long, TaskCounts> taskCounts() {
+        return singleFlight.execute("project-task-counts", currentUserService.getCurrentUsername(), () -> {
+            Long userId = currentUserService.getCurrentUser().getId();
+            Map<Long, TaskCounts> counts = new HashMap<>();
+            for (TaskRepository.ProjectTaskCounts row : taskRepository.countByProject(userId, OPEN_STATUSES, TaskStatus.DONE, Instant.now())) {
+                counts.put(row.getProjectId(), new TaskCounts(row.getOpen(), row.getDone(), row.getOverdue()));
+            }
+            return counts;
+        });
+    }
 
+    /**
+     * Concurrent calls by the same user share one query.
+     */
     public List<Project> findAll() {
-        Long userId = currentUserService.getCurrentUser().getId();
-        return projectRepository.findAllByUser_IdOrderByCreatedAtDesc(userId);
+        return singleFlight.execute("project-list", currentUserService.getCurrentUsername(), () -> {
+            Long userId = currentUserService.getCurrentUser().getId();
+            return projectRepository.findAllByUser_IdAndHiddenFalseOrderByCreatedAtDesc(userId);
+        });
+    }
+
+    /**
+     * Names of the given visible projects by id; a plain query, so unlike {@link #findAll()} it is safe inside a
+     * transaction.
+     */
+    public Map<Long, String> findNames(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return projectRepository.findNames(currentUserService.getCurrentUser().getId(), ids).stream()
+                .collect(Collectors.toMap(ProjectRepository.ProjectName::getId, ProjectRepository.ProjectName::getName));
     }
 
     public Project findById(Long id) {
         Long userId = currentUserService.getCurrentUser().getId();
-        return projectRepository.findByIdAndUser_Id(id, userId)
+        return projectRepository.findByIdAndUser_IdAndHiddenFalse(id, userId)
                 .orElseThrow(() -> new NotFoundException("Project not found: " + id));
     }
 
@@ -44,11 +103,17 @@ public class ProjectService {
         return projectRepository.save(project);
     }
 
-    public void delete(Long id) {
-        Long userId = currentUserService.getCurrentUser().getId();
-        if (!projectRepository.existsByIdAndUser_Id(id, userId)) {
+    /**
+     * Hide the project immediately and hand the row deletion to the background purge.
+     */
+    public PurgeJob delete(Long id) {
+        User user = currentUserService.getCurrentUser();
+        Long userId = user.getId();
+        if (projectRepository.hide(id, userId) == 0) {
             throw new NotFoundException("Project not found: " + id);
         }
-        projectRepository.deleteById(id);
+        searchCache.invalidateProject(id);
+        tagSuggestService.invalidate(user.getEmail());
+        return purgeService.purgeProject(userId, id);
     }
 }
@@ -0,0 +1,50 @@
+package com.example.todo.service;
+
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory progress of one background purge; counters are updated after each committed batch.
+ */
+@Getter
+public class PurgeJob {
+    public enum Type { PROJECT, USER }
+
+    public enum Status { PENDING, RUNNING, DONE, FAILED }
+
+    private final String id = UUID.randomUUID().toString();
+    private final Type type;
+    private final Long targetId;
+    private final Long userId;
+    private final Instant createdAt = Instant.now();
+    private final AtomicLong tasksDeleted = new AtomicLong();
+    private final AtomicLong tagsDeleted = new AtomicLong();
+    private final AtomicLong projectsDeleted = new AtomicLong();
+    private volatile Status status = Status.PENDING;
+    private volatile Instant finishedAt;
+    private volatile String error;
+
+    PurgeJob(Type type, Long targetId, Long userId) {
+        this.type = type;
+        this.targetId = targetId;
+        this.userId = userId;
+    }
+
+    void start() {
+        status = Status.RUNNING;
+    }
+
+    void finish() {
+        status = Status.DONE;
+        finishedAt = Instant.now();
+    }
+
+    void fail(String message) {
+        status = Status.FAILED;
+        error = message;
+        finishedAt = Instant.now();
+    }
+}
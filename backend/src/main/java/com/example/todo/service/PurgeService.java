@@ -0,0 +1,229 @@
+package com.example.todo.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Deletes hidden projects (and a user's whole workspace) in bounded batches on a background worker.
+ * Each batch is its own short transaction so row locks are released between chunks; attachment files of a
+ * batch are removed once it commits.
+ */
+@Service
+public class PurgeService {
+    private static final Logger log = LoggerFactory.getLogger(PurgeService.class);
+    private static final Duration JOB_RETENTION = Duration.ofHours(1);
+    private static final int SWEEP_LIMIT = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor purgeExecutor;
+    private final AttachmentService attachmentService;
+    private final int batchSize;
+    private final long pauseMillis;
+    private final Map<String, PurgeJob> jobs = new ConcurrentHashMap<>();
+    /** Projects and users with a job queued or running, so the sweep does not queue them twice. */
+    private final Set<Long> queuedProjects = ConcurrentHashMap.newKeySet();
+    private final Set<Long> queuedUsers = ConcurrentHashMap.newKeySet();
+
+    public PurgeService(JdbcTemplate jdbcTemplate,
+                        TransactionTemplate transactionTemplate,
+                        @Qualifier("purgeExecutor") TaskExecutor purgeExecutor,
+                        AttachmentService attachmentService,
+                        @Value("${todo.purge.batch-size:500}") int batchSize,
+                        @Value("${todo.purge.pause-ms:20}") long pauseMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.purgeExecutor = purgeExecutor;
+        this.attachmentService = attachmentService;
+        this.batchSize = batchSize;
+        this.pauseMillis = pauseMillis;
+    }
+
+    /**
+     * The project must already be hidden so readers stop seeing it before its rows go away.
+     */
+    public PurgeJob purgeProject(Long userId, Long projectId) {
+        PurgeJob job = register(new PurgeJob(PurgeJob.Type.PROJECT, projectId, userId));
+        submit(job, queuedProjects, projectId, () -> purgeProjectRows(job, projectId));
+        return job;
+    }
+
+    /**
+     * Hide every project of the user right away, then delete them chunk by chunk. The account itself is kept.
+     */
+    public PurgeJob purgeUser(Long userId) {
+        transactionTemplate.executeWithoutResult(s ->
+                jdbcTemplate.update("UPDATE projects SET hidden = TRUE WHERE user_id = ?", userId));
+        PurgeJob job = register(new PurgeJob(PurgeJob.Type.USER, userId, userId));
+        submit(job, queuedUsers, userId, () -> {
+            List<Long> projectIds = jdbcTemplate.queryForList(
+                    "SELECT id FROM projects WHERE user_id = ? AND hidden = TRUE", Long.class, userId);
+            for (Long projectId : projectIds) {
+                purgeProjectRows(job, projectId);
+            }
+        });
+        return job;
+    }
+
+    /**
+     * Hidden projects are only deleted by a queued job, and jobs live in memory: a restart, a failed job or a full
+     * queue leaves them hidden forever. This picks up the ones no queued job covers.
+     */
+    @Scheduled(fixedDelayString = "${todo.purge.sweep-interval-ms:300000}",
+            initialDelayString = "${todo.purge.sweep-initial-delay-ms:30000}")
+    public void sweepHidden() {
+        List<Map<String, Object>> hidden = jdbcTemplate.queryForList(
+                "SELECT id, user_id FROM projects WHERE hidden = TRUE ORDER BY id LIMIT ?", SWEEP_LIMIT);
+        int queued = 0;
+        for (Map<String, Object> row : hidden) {
+            Long projectId = ((Number) row.get("id")).longValue();
+            Long userId = ((Number) row.get("user_id")).longValue();
+            if (queuedProjects.contains(projectId) || queuedUsers.contains(userId)) {
+                continue;
+            }
+            try {
+                purgeProject(userId, projectId);
+                queued++;
+            } catch (ResponseStatusException e) {
+                break;
+            }
+        }
+        if (queued > 0) {
+            log.info("Re-queued purge of {} hidden projects", queued);
+        }
+    }
+
+    public Optional<PurgeJob> find(String jobId, Long userId) {
+        return Optional.ofNullable(jobs.get(jobId)).filter(j -> j.getUserId().equals(userId));
+    }
+
+    private PurgeJob register(PurgeJob job) {
+        Instant cutoff = Instant.now().minus(JOB_RETENTION);
+        jobs.values().removeIf(j -> j.getFinishedAt() != null && j.getFinishedAt().isBefore(cutoff));
+        jobs.put(job.getId(), job);
+        return job;
+    }
+
+    /**
+     * The caller has already hidden the rows, so a full queue is reported as 503: the sweep deletes them later.
+     */
+    private void submit(PurgeJob job, Set<Long> queued, Long key, Runnable work) {
+        queued.add(key);
+        try {
+            purgeExecutor.execute(() -> {
+                try {
+                    run(job, work);
+                } finally {
+                    queued.remove(key);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            queued.remove(key);
+            job.fail("Purge queue is full");
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Purge queue is full, deletion will be retried");
+        }
+    }
+
+    private void run(PurgeJob job, Runnable work) {
+        job.start();
+        try {
+            work.run();
+            job.finish();
+            log.info("Purge {} {}#{} done: {} projects, {} tasks, {} tags", job.getId(), job.getType(), job.getTargetId(),
+                    job.getProjectsDeleted(), job.getTasksDeleted(), job.getTagsDeleted());
+        } catch (RuntimeException e) {
+            job.fail(e.getMessage());
+            log.warn("Purge {} {}#{} failed", job.getId(), job.getType(), job.getTargetId(), e);
+        }
+    }
+
+    private void purgeProjectRows(PurgeJob job, Long projectId) {
+        purgeTaskTable(job, projectId, "tasks", "task_tags");
+        purgeTaskTable(job, projectId, "tasks_archive", "task_tags_archive");
+        purgeStats(projectId);
+        Integer projects = transactionTemplate.execute(s ->
+                jdbcTemplate.update("DELETE FROM projects WHERE id = ? AND hidden = TRUE", projectId));
+        job.getProjectsDeleted().addAndGet(projects == null ? 0 : projects);
+    }
+
+    private void purgeTaskTable(PurgeJob job, Long projectId, String taskTable, String tagTable) {
+        while (true) {
+            int[] counts = transactionTemplate.execute(s -> deleteTaskBatch(projectId, taskTable, tagTable));
+            if (counts == null || counts[0] == 0) {
+                break;
+            }
+            job.getTasksDeleted().addAndGet(counts[0]);
+            job.getTagsDeleted().addAndGet(counts[1]);
+            pause();
+        }
+    }
+
+    private void purgeStats(Long projectId) {
+        while (true) {
+            Integer deleted = transactionTemplate.execute(s -> {
+                List<Long> ids = jdbcTemplate.queryForList(
+                        "SELECT id FROM task_status_events WHERE project_id = ? ORDER BY id LIMIT ?", Long.class, projectId, batchSize);
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                return jdbcTemplate.update("DELETE FROM task_status_events WHERE id IN ("
+                        + String.join(",", Collections.nCopies(ids.size(), "?")) + ")", ids.toArray());
+            });
+            if (deleted == null || deleted == 0) {
+                break;
+            }
+            pause();
+        }
+        transactionTemplate.executeWithoutResult(s ->
+                jdbcTemplate.update("DELETE FROM task_daily_stats WHERE project_id = ?", projectId));
+    }
+
+    /**
+     * @return {tasks deleted, tags deleted}
+     */
+    private int[] deleteTaskBatch(Long projectId, String taskTable, String tagTable) {
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM " + taskTable + " WHERE project_id = ? ORDER BY id LIMIT ?", Long.class, projectId, batchSize);
+        if (ids.isEmpty()) {
+            return new int[]{0, 0};
+        }
+        String in = String.join(",", Collections.nCopies(ids.size(), "?"));
+        Object[] args = ids.toArray();
+        // archived tasks keep their attachments, so both tables need this
+        attachmentService.deleteForTasks(ids);
+        int tags = jdbcTemplate.update("DELETE FROM " + tagTable + " WHERE task_id IN (" + in + ")", args);
+        int tasks = jdbcTemplate.update("DELETE FROM " + taskTable + " WHERE id IN (" + in + ")", args);
+        return new int[]{tasks, tags};
+    }
+
+    private void pause() {
+        if (pauseMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(pauseMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Purge interrupted", e);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.todo.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent identical reads into one execution. The first caller for a key runs the loader on its own
+ * thread, in a read-only transaction; callers arriving while it is in flight wait and receive the same result
+ * (or exception). Callers should not already be in a transaction, otherwise they hold a connection while waiting.
+ * A follower waits at most {@code todo.singleflight.wait-ms}, then runs the loader itself, so one stuck query
+ * cannot hold every identical request. Nothing is kept once the call completes, so this is not a cache.
+ * <p>
+ * Results are shared between requests and must be treated as read-only; entities in them may belong to the
+ * leader's persistence context, so followers must not trigger lazy loading.
+ * <p>
+ * Metrics: {@code todo.singleflight.calls} tagged with {@code name} and {@code role=leader|coalesced|timed-out}.
+ */
+@Component
+public class SingleFlight {
+    private final Map<List<Object>, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final TransactionTemplate readOnlyTransaction;
+    private final MeterRegistry meterRegistry;
+    private final long waitMillis;
+
+    public SingleFlight(PlatformTransactionManager transactionManager,
+                        MeterRegistry meterRegistry,
+                        @Value("${todo.singleflight.wait-ms:5000}") long waitMillis) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.meterRegistry = meterRegistry;
+        this.waitMillis = waitMillis;
+    }
+
+    /**
+     * @param key must implement {@code equals}/{@code hashCode} and contain everything the result depends on,
+     *            including the user
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String name, Object key, Supplier<T> loader) {
+        List<Object> flightKey = List.of(name, key);
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, mine);
+        if (existing != null) {
+            try {
+                T result = (T) existing.get(waitMillis, TimeUnit.MILLISECONDS);
+                counter(name, "coalesced").increment();
+                return result;
+            } catch (ExecutionException e) {
+                counter(name, "coalesced").increment();
+                throw propagate(e.getCause());
+            } catch (TimeoutException e) {
+                counter(name, "timed-out").increment();
+                return readOnlyTransaction.execute(s -> loader.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for " + name, e);
+            }
+        }
+        counter(name, "leader").increment();
+        try {
+            T result = readOnlyTransaction.execute(s -> loader.get());
+            inFlight.remove(flightKey, mine);
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(flightKey, mine);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private Counter counter(String name, String role) {
+        return Counter.builder("todo.singleflight.calls")
+                .description("Reads served by a single-flight group, by whether they ran the query or shared it")
+                .tags("name", name, "role", role)
+                .register(meterRegistry);
+    }
+
+    private static RuntimeException propagate(Throwable cause) {
+        if (cause instanceof RuntimeException e) {
+            return e;
+        }
+        if (cause instanceof Error e) {
+            throw e;
+        }
+        return new IllegalStateException(cause);
+    }
+}
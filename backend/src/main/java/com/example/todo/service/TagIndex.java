@@ -0,0 +1,59 @@
+package com.example.todo.service;
+
+import com.example.todo.dto.TagSuggestion;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * One user's tags with usage counts, safe for concurrent reads and updates. Keys are the lower-cased tag, a NUL and
+ * the tag itself, so every case variant of a prefix lies in one contiguous range that starts at the lower-cased
+ * prefix, and variants such as {@code Work} and {@code work} still keep their own counts.
+ */
+final class TagIndex {
+    private static final char SEPARATOR = '\0';
+
+    private final NavigableMap<String, Integer> counts = new ConcurrentSkipListMap<>();
+
+    void add(String tag, int count) {
+        counts.merge(key(tag), count, Integer::sum);
+    }
+
+    void remove(String tag) {
+        counts.computeIfPresent(key(tag), (k, count) -> count > 1 ? count - 1 : null);
+    }
+
+    /**
+     * Tags starting with {@code prefix} ignoring case, most used first, then alphabetical.
+     */
+    List<TagSuggestion> suggest(String prefix, int limit) {
+        String from = prefix.toLowerCase(Locale.ROOT);
+        Map<String, Integer> range = from.isEmpty() ? counts : counts.subMap(from, true, from + Character.MAX_VALUE, true);
+        // bounded insertion into a short sorted list: cheaper than sorting the whole range
+        List<TagSuggestion> top = new ArrayList<>(limit + 1);
+        for (Map.Entry<String, Integer> entry : range.entrySet()) {
+            int count = entry.getValue();
+            if (top.size() == limit && top.get(limit - 1).count() >= count) {
+                continue;
+            }
+            int at = top.size();
+            while (at > 0 && top.get(at - 1).count() < count) {
+                at--;
+            }
+            String key = entry.getKey();
+            top.add(at, new TagSuggestion(key.substring(key.indexOf(SEPARATOR) + 1), count));
+            if (top.size() > limit) {
+                top.remove(limit);
+            }
+        }
+        return top;
+    }
+
+    private static String key(String tag) {
+        return tag.toLowerCase(Locale.ROOT) + SEPARATOR + tag;
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.todo.service;
+
+import com.example.todo.dto.TagSuggestion;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Tag autocomplete from an in-memory {@link TagIndex} per user: tag to number of live tasks carrying it. A user's
+ * index is built with one grouped query on the first lookup, kept current by the deltas {@link TaskService} reports
+ * after each commit, and dropped after {@code todo.tags.idle-minutes} without lookups. Indexes are keyed by the
+ * authenticated email, so a lookup never touches the database once loaded.
+ * <p>
+ * Counts can drift if a delta lands while the index is still loading; every index is rebuilt at the latest
+ * {@code todo.tags.max-age-minutes} after it was loaded, so the drift cannot outlive that even for a busy user.
+ */
+@Service
+public class TagSuggestService {
+    private static final int MAX_LIMIT = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CurrentUserService currentUserService;
+    private final Cache<String, TagIndex> indexes;
+
+    public TagSuggestService(JdbcTemplate jdbcTemplate,
+                             CurrentUserService currentUserService,
+                             MeterRegistry meterRegistry,
+                             @Value("${todo.tags.idle-minutes:30}") long idleMinutes,
+                             @Value("${todo.tags.max-age-minutes:120}") long maxAgeMinutes,
+                             @Value("${todo.tags.max-users:10000}") long maxUsers) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.currentUserService = currentUserService;
+        this.indexes = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofMinutes(idleMinutes))
+                .expireAfterWrite(Duration.ofMinutes(maxAgeMinutes))
+                .maximumSize(maxUsers)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, indexes, "tagIndex");
+    }
+
+    /**
+     * Tags of the current user starting with {@code prefix} (ignoring case), most used first, then alphabetical.
+     */
+    public List<TagSuggestion> suggest(String prefix, int limit) {
+        TagIndex index = indexes.get(currentUserService.getCurrentUsername(), this::load);
+        return index.suggest(prefix.strip(), Math.max(1, Math.min(limit, MAX_LIMIT)));
+    }
+
+    /**
+     * Apply a task's tag changes to the user's index once the current transaction commits; users without a loaded
+     * index are skipped, their next lookup reads the committed rows.
+     */
+    public void tagsChanged(String username, Collection<String> added, Collection<String> removed) {
+        if (added.isEmpty() && removed.isEmpty()) {
+            return;
+        }
+        afterCommit(() -> {
+            TagIndex index = indexes.getIfPresent(username);
+            if (index == null) {
+                return;
+            }
+            added.forEach(tag -> index.add(tag, 1));
+            removed.forEach(index::remove);
+        });
+    }
+
+    /**
+     * For bulk changes (a whole project hidden): rebuild the user's index on the next lookup.
+     */
+    public void invalidate(String username) {
+        afterCommit(() -> indexes.invalidate(username));
+    }
+
+    private TagIndex load(String username) {
+        TagIndex index = new TagIndex();
+        jdbcTemplate.query("""
+                SELECT tt.tag, COUNT(*) FROM task_tags tt
+                JOIN tasks t ON t.id = tt.task_id
+                JOIN projects p ON p.id = t.project_id
+                JOIN users u ON u.id = p.user_id
+                WHERE u.email = ? AND t.archived = FALSE AND p.hidden = FALSE
+                GROUP BY tt.tag
+                """, rs -> {
+            index.add(rs.getString(1), rs.getInt(2));
+        }, username);
+        return index;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
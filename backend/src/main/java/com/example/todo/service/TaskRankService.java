@@ -0,0 +1,104 @@
+package com.example.todo.service;
+
+import com.example.todo.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the manual order of tasks ({@code tasks.sort_rank}). Moves and appends write a single row with a
+ * {@link FractionalRank} key; once a project's keys grow past {@code todo.rank.max-length} a background job
+ * rewrites them evenly spaced. The first run also ranks tasks created before the column existed.
+ */
+@Service
+public class TaskRankService {
+    private static final Logger log = LoggerFactory.getLogger(TaskRankService.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskRepository taskRepository;
+    private final TaskSearchCache searchCache;
+    private final int maxLength;
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    private volatile boolean backfilled;
+
+    public TaskRankService(JdbcTemplate jdbcTemplate,
+                           TransactionTemplate transactionTemplate,
+                           TaskRepository taskRepository,
+                           TaskSearchCache searchCache,
+                           @Value("${todo.rank.max-length:48}") int maxLength) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.taskRepository = taskRepository;
+        this.searchCache = searchCache;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * Rank that puts a new task at the bottom of the project. Appends to one project are serialized on its row until
+     * the caller's transaction ends, so two new tasks never get the same rank.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public String nextRank(Long projectId) {
+        jdbcTemplate.queryForObject("SELECT id FROM projects WHERE id = ? FOR UPDATE", Long.class, projectId);
+        return checked(projectId, FractionalRank.between(taskRepository.findLastRank(projectId).orElse(null), null));
+    }
+
+    /**
+     * Rank between two neighbours, queueing a rebalance when the result is getting long.
+     */
+    public String between(Long projectId, String lower, String upper) {
+        return checked(projectId, FractionalRank.between(lower, upper));
+    }
+
+    /**
+     * Rewrite the ranks of all active tasks of the project evenly spaced, keeping their current order; unranked
+     * tasks go last in creation order. Runs inside the caller's transaction.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void rebalance(Long projectId) {
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM tasks WHERE project_id = ? AND archived = FALSE"
+                        + " ORDER BY sort_rank IS NULL, sort_rank, id FOR UPDATE", Long.class, projectId);
+        List<String> ranks = FractionalRank.spread(ids.size());
+        List<Object[]> args = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            args.add(new Object[]{ranks.get(i), ids.get(i)});
+        }
+        jdbcTemplate.batchUpdate("UPDATE tasks SET sort_rank = ? WHERE id = ?", args);
+        pending.remove(projectId);
+        searchCache.invalidateProject(projectId);
+    }
+
+    @Scheduled(fixedDelayString = "${todo.rank.rebalance-interval-ms:60000}",
+            initialDelayString = "${todo.rank.initial-delay-ms:10000}")
+    public void rebalancePending() {
+        if (!backfilled) {
+            pending.addAll(jdbcTemplate.queryForList(
+                    "SELECT DISTINCT project_id FROM tasks WHERE sort_rank IS NULL AND archived = FALSE", Long.class));
+            backfilled = true;
+        }
+        for (Long projectId : List.copyOf(pending)) {
+            transactionTemplate.executeWithoutResult(s -> rebalance(projectId));
+            log.info("Rebalanced task ranks of project {}", projectId);
+        }
+    }
+
+    private String checked(Long projectId, String rank) {
+        if (rank.length() > maxLength) {
+            pending.add(projectId);
+        }
+        return rank;
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.todo.service;
+
+import com.example.todo.dto.TaskResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of task search pages. Every key carries its project's generation (and a global epoch); writes bump
+ * the generation after commit, so invalidation is O(1) and, on this node, a page is not served again after a write
+ * that went through here. Entries for old generations are simply never hit and age out.
+ * <p>
+ * Generations are per JVM: writes handled by another node, and pages loaded from a lagging replica just after a
+ * local write, are only bounded by {@code todo.search-cache.ttl-ms}, after which every entry is reloaded.
+ * <p>
+ * Eviction is by estimated heap weight, capped at {@code todo.search-cache.max-bytes}; every entry weighs at
+ * least {@code max-bytes / max-entries}, which also bounds the number of entries.
+ * Metrics: the usual {@code cache.*} meters for {@code taskSearch} plus {@code todo.search.cache.weight} in bytes.
+ */
+@Component
+public class TaskSearchCache {
+    private static final int TASK_OVERHEAD_BYTES = 400;
+    private static final int PAGE_OVERHEAD_BYTES = 300;
+
+    private final Cache<List<Object>, Page<TaskResponse>> cache;
+    private final Map<Long, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final AtomicLong epoch = new AtomicLong();
+    private final boolean enabled;
+
+    public TaskSearchCache(MeterRegistry meterRegistry,
+                           @Value("${todo.search-cache.enabled:true}") boolean enabled,
+                           @Value("${todo.search-cache.max-bytes:16777216}") long maxBytes,
+                           @Value("${todo.search-cache.max-entries:10000}") long maxEntries,
+                           @Value("${todo.search-cache.ttl-ms:10000}") long ttlMillis) {
+        long minWeight = Math.max(1, maxBytes / Math.max(1, maxEntries));
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .expireAfterWrite(Duration.ofMillis(ttlMillis))
+                .weigher((List<Object> key, Page<TaskResponse> page) -> (int) Math.min(Integer.MAX_VALUE, Math.max(minWeight, estimateBytes(page))))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "taskSearch");
+        Gauge.builder("todo.search.cache.weight", cache, c -> c.policy().eviction().map(e -> e.weightedSize().orElse(0)).orElse(0L))
+                .description("Estimated heap footprint of cached task search pages")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param key everything the page depends on besides the data itself, including the user
+     */
+    public Page<TaskResponse> get(Long projectId, Object key, Supplier<Page<TaskResponse>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        // read the generation before querying: a write committing meanwhile moves readers to a new key
+        List<Object> versionedKey = List.of(epoch.get(), generation(projectId).get(), key);
+        Page<TaskResponse> page = cache.getIfPresent(versionedKey);
+        if (page == null) {
+            page = loader.get();
+            cache.put(versionedKey, page);
+        }
+        return page;
+    }
+
+    /**
+     * Drop every cached page of the project once the current transaction commits (immediately if there is none).
+     */
+    public void invalidateProject(Long projectId) {
+        afterCommit(() -> generation(projectId).incrementAndGet());
+    }
+
+    public void invalidateAll() {
+        afterCommit(epoch::incrementAndGet);
+    }
+
+    private AtomicLong generation(Long projectId) {
+        return generations.computeIfAbsent(projectId, id -> new AtomicLong());
+    }
+
+    private static void afterCommit(Runnable bump) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            bump.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                bump.run();
+            }
+        });
+    }
+
+    private static long estimateBytes(Page<TaskResponse> page) {
+        long bytes = PAGE_OVERHEAD_BYTES;
+        for (TaskResponse task : page.getContent()) {
+            bytes += TASK_OVERHEAD_BYTES + chars(task.title()) + chars(task.description());
+            if (task.tags() != null) {
+                for (String tag : task.tags()) {
+                    bytes += 64 + chars(tag);
+                }
+            }
+        }
+        return bytes;
+    }
+
+    private static long chars(String s) {
+        return s == null ? 0 : 48L + s.length() * 2L;
+    }
+}
@@ -3,42 +3,218 @@ package com.example.todo.service;
 import com.example.todo.domain.Project;
 import com.example.todo.domain.Task;
 import com.example.todo.domain.TaskStatus;
+import com.example.todo.domain.User;
+import com.example.todo.dto.BoardResponse;
+import com.example.todo.dto.CursorPage;
+import com.example.todo.dto.GlobalSearchResponse;
+import com.example.todo.dto.MoveTaskRequest;
+import com.example.todo.dto.TagChangeRequest;
+import com.example.todo.dto.TaskField;
 import com.example.todo.dto.TaskRequest;
+import com.example.todo.dto.TaskResponse;
 import com.example.todo.dto.TaskUpdateRequest;
+import com.example.todo.exception.ConflictException;
 import com.example.todo.exception.NotFoundException;
 import com.example.todo.repository.TaskRepository;
-import jakarta.transaction.Transactional;
+import com.example.todo.repository.TaskSearchRepository;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class TaskService {
+    private static final int MAX_AGENDA_SIZE = 200;
+    private static final int MAX_HITS_PER_PROJECT = 50;
+    private static final Instant AGENDA_END = Instant.parse("9999-12-31T23:59:59Z");
+    private static final int MAX_BOARD_COLUMN_SIZE = 100;
+    private static final List<TaskStatus> BOARD_COLUMNS = List.of(TaskStatus.TODO, TaskStatus.DOING, TaskStatus.DONE);
+
     private final TaskRepository taskRepository;
     private final ProjectService projectService;
     private final CurrentUserService currentUserService;
+    private final SingleFlight singleFlight;
+    private final TaskSearchCache searchCache;
+    private final TaskRankService rankService;
+    private final TaskStatsService statsService;
+    private final TagSuggestService tagSuggestService;
+    private final AttachmentService attachmentService;
+    private final ArchiveService archiveService;
+
+    /**
+     * Pages are served from {@link TaskSearchCache} until a write touches the project; identical concurrent
+     * misses (same user and normalized filters) share one query.
+     */
+    public Page<TaskResponse> search(Long projectId, Optional<String> keyword, Optional<TaskStatus> status,
+                                     Optional<Set<String>> tags, int page, int size, String sort, Set<TaskField> fields) {
+        SearchKey key = new SearchKey(currentUserService.getCurrentUsername(), projectId,
+                keyword.map(k -> k.trim().toLowerCase()).filter(k -> !k.isEmpty()).orElse(null),
+                status.orElse(null), tags.<Set<String>>map(TreeSet::new).orElse(null), page, size, sort.replace(" ", ""), fields);
+        return searchCache.get(projectId, key, () -> singleFlight.execute("task-search", key,
+                () -> doSearch(projectId, Optional.ofNullable(key.keyword()), status, tags, page, size, sort, fields)));
+    }
 
-    public Page<Task> search(Long projectId, Optional<String> keyword, Optional<TaskStatus> status,
-                             Optional<Set<String>> tags, int page, int size, String sort) {
-        // ensure project归属当前用户
+    private Page<TaskResponse> doSearch(Long projectId, Optional<String> keyword, Optional<TaskStatus> status,
+                                        Optional<Set<String>> tags, int page, int size, String sort, Set<TaskField> fields) {
+        // ensure project归属当前用户; that check is the ownership filter, tasks.user_id may still be unset on old rows
         projectService.findById(projectId);
         Pageable pageable = PageRequest.of(page, size, parseSort(sort));
         Specification<Task> spec = Specification.where(projectEquals(projectId))
                 .and(notArchived())
-                .and(ownerEquals())
                 .and(keyword.map(this::titleOrDescriptionContains).orElse(null))
                 .and(status.map(this::statusEquals).orElse(null))
                 .and(tags.map(this::tagsIn).orElse(null));
-        return taskRepository.findAll(spec, pageable);
+        return taskRepository.findResponses(spec, pageable, fields);
+    }
+
+    /**
+     * Search every visible project of the current user at once. Matching rows and per-project hit counts come
+     * from a single query; the listed tasks are then loaded by id in one more.
+     */
+    @Transactional(readOnly = true)
+    public GlobalSearchResponse searchAll(Optional<String> keyword, Optional<TaskStatus> status, Optional<Set<String>> tags,
+                                          Optional<Instant> dueFrom, Optional<Instant> dueTo, int perProject) {
+        Long userId = currentUserService.getCurrentUser().getId();
+        List<TaskSearchRepository.GlobalSearchRow> rows = taskRepository.searchAcrossProjects(userId, keyword, status, tags,
+                dueFrom, dueTo, Math.max(1, Math.min(perProject, MAX_HITS_PER_PROJECT)));
+        Map<Long, Task> tasks = taskRepository.findByIdIn(rows.stream().map(TaskSearchRepository.GlobalSearchRow::taskId).toList())
+                .stream().collect(Collectors.toMap(Task::getId, Function.identity()));
+        Map<Long, String> projectNames = projectService.findNames(
+                rows.stream().map(TaskSearchRepository.GlobalSearchRow::projectId).collect(Collectors.toSet()));
+
+        Map<Long, GlobalSearchResponse.ProjectHits> groups = new LinkedHashMap<>();
+        long totalHits = 0;
+        for (TaskSearchRepository.GlobalSearchRow row : rows) {
+            GlobalSearchResponse.ProjectHits group = groups.get(row.projectId());
+            if (group == null) {
+                group = new GlobalSearchResponse.ProjectHits(row.projectId(), projectNames.get(row.projectId()),
+                        row.projectHits(), new ArrayList<>());
+                groups.put(row.projectId(), group);
+                totalHits += row.projectHits();
+            }
+            Task task = tasks.get(row.taskId());
+            if (task != null) {
+                group.tasks().add(TaskResponse.from(task));
+            }
+        }
+        return new GlobalSearchResponse(totalHits, List.copyOf(groups.values()));
+    }
+
+    /**
+     * Non-archived tasks of the current user across all projects, due in {@code [from, to)}, most pressing first.
+     * Tasks without a due date are not part of the agenda.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<TaskResponse> agenda(Optional<Instant> from, Optional<Instant> to, Optional<String> cursor, int size) {
+        Long userId = currentUserService.getCurrentUser().getId();
+        int limit = Math.max(1, Math.min(size, MAX_AGENDA_SIZE));
+        Instant dueAt = from.orElse(Instant.EPOCH);
+        int rank = -1;
+        long id = 0;
+        if (cursor.isPresent()) {
+            String[] parts = decodeCursor(cursor.get(), 3);
+            try {
+                dueAt = Instant.parse(parts[0]);
+                rank = Integer.parseInt(parts[1]);
+                id = Long.parseLong(parts[2]);
+            } catch (RuntimeException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+            }
+        }
+        List<Task> tasks = taskRepository.findAgendaAfter(userId, to.orElse(AGENDA_END), dueAt, rank, id, Limit.of(limit + 1));
+        List<Task> content = tasks.subList(0, Math.min(limit, tasks.size()));
+        // same persistence context: this initializes the tags of the entities above in one query
+        taskRepository.findByIdIn(content.stream().map(Task::getId).toList());
+        List<TaskResponse> responses = content.stream().map(TaskResponse::from).toList();
+        if (tasks.size() <= limit) {
+            return new CursorPage<>(responses, null);
+        }
+        Task last = tasks.get(limit - 1);
+        return new CursorPage<>(responses, encodeCursor(last.getDueAt() + "|" + last.getPriorityRank() + "|" + last.getId()));
+    }
+
+    /**
+     * The first {@code size} tasks of every board column with the column totals: ownership is checked once and
+     * rows and totals come from a single windowed query, instead of one paged search per status.
+     */
+    @Transactional(readOnly = true)
+    public BoardResponse board(Long projectId, int size) {
+        Long userId = projectService.findById(projectId).getUser().getId();
+        int limit = Math.max(1, Math.min(size, MAX_BOARD_COLUMN_SIZE));
+        List<TaskSearchRepository.BoardRow> rows = taskRepository.findBoard(projectId, userId, BOARD_COLUMNS, limit);
+        Map<Long, Task> tasks = taskRepository.findByIdIn(rows.stream().map(TaskSearchRepository.BoardRow::taskId).toList())
+                .stream().collect(Collectors.toMap(Task::getId, Function.identity()));
+        List<BoardResponse.Column> columns = new ArrayList<>();
+        for (TaskStatus status : BOARD_COLUMNS) {
+            List<TaskSearchRepository.BoardRow> column = rows.stream().filter(r -> r.status() == status).toList();
+            long total = column.isEmpty() ? 0 : column.get(0).columnTotal();
+            List<TaskResponse> content = column.stream().map(r -> tasks.get(r.taskId()))
+                    .filter(Objects::nonNull).map(TaskResponse::from).toList();
+            String next = null;
+            if (total > column.size()) {
+                TaskSearchRepository.BoardRow last = column.get(column.size() - 1);
+                next = boardCursor(last.rank(), last.taskId());
+            }
+            columns.add(new BoardResponse.Column(status, total, content, next));
+        }
+        return new BoardResponse(projectId, columns);
+    }
+
+    /**
+     * "Load more" for one board column, continuing from a cursor returned by {@link #board} or a previous call.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<TaskResponse> boardColumn(Long projectId, TaskStatus status, String cursor, int size) {
+        Long userId = projectService.findById(projectId).getUser().getId();
+        int limit = Math.max(1, Math.min(size, MAX_BOARD_COLUMN_SIZE));
+        String[] parts = decodeCursor(cursor, 2);
+        long id;
+        try {
+            id = Long.parseLong(parts[1]);
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+        List<Task> tasks = parts[0].isEmpty()
+                ? taskRepository.findColumnAfterUnranked(projectId, userId, status, id, Limit.of(limit + 1))
+                : taskRepository.findColumnAfter(projectId, userId, status, parts[0], id, Limit.of(limit + 1));
+        List<Task> content = tasks.subList(0, Math.min(limit, tasks.size()));
+        taskRepository.findByIdIn(content.stream().map(Task::getId).toList());
+        List<TaskResponse> responses = content.stream().map(TaskResponse::from).toList();
+        if (tasks.size() <= limit) {
+            return new CursorPage<>(responses, null);
+        }
+        Task last = tasks.get(limit - 1);
+        return new CursorPage<>(responses, boardCursor(last.getRank(), last.getId()));
+    }
+
+    private static String boardCursor(String rank, Long id) {
+        // rows not ranked yet sort first; an empty rank (never a real key) marks the cursor as one of them
+        return encodeCursor((rank != null ? rank : "") + "|" + id);
     }
 
     @Transactional
@@ -46,6 +222,7 @@ public class TaskService {
         Project project = projectService.findById(projectId);
         Task task = new Task();
         task.setProject(project);
+        task.setOwnerId(project.getUser().getId());
         task.setTitle(request.title());
         task.setDescription(request.description());
         if (request.status() != null) task.setStatus(request.status());
@@ -53,40 +230,207 @@ public class TaskService {
         task.setDueAt(request.dueAt());
         task.setRemindAt(request.remindAt());
         if (request.tags() != null) task.setTags(request.tags());
+        task.setRank(rankService.nextRank(projectId));
         task.setUpdatedAt(Instant.now());
-        return taskRepository.save(task);
+        searchCache.invalidateProject(projectId);
+        Task saved = taskRepository.save(task);
+        statsService.recordTransition(saved.getId(), projectId, saved.getOwnerId(), null, saved.getStatus());
+        if (request.tags() != null) {
+            tagSuggestService.tagsChanged(currentUserService.getCurrentUsername(), request.tags(), Set.of());
+        }
+        return saved;
     }
 
+    /**
+     * Partial update as one targeted UPDATE of the changed columns; the entity is only read back for the response.
+     */
     @Transactional
     public Task update(Long taskId, TaskUpdateRequest request) {
-        Task task = findOwnedTask(taskId);
-        request.title().ifPresent(task::setTitle);
-        request.description().ifPresent(task::setDescription);
-        request.status().ifPresent(task::setStatus);
-        request.priority().ifPresent(task::setPriority);
-        request.dueAt().ifPresent(task::setDueAt);
-        request.remindAt().ifPresent(task::setRemindAt);
-        request.tags().ifPresent(task::setTags);
-        task.setUpdatedAt(Instant.now());
-        return taskRepository.save(task);
+        User user = currentUserService.getCurrentUser();
+        Long userId = user.getId();
+        Map<String, Object> changes = new LinkedHashMap<>();
+        request.title().ifPresent(v -> changes.put("title", v));
+        request.description().ifPresent(v -> changes.put("description", v));
+        request.status().ifPresent(v -> changes.put("status", v));
+        request.priority().ifPresent(v -> changes.put("priority", v));
+        request.dueAt().ifPresent(v -> changes.put("dueAt", v));
+        request.remindAt().ifPresent(v -> changes.put("remindAt", v));
+        changes.put("updatedAt", Instant.now());
+
+        Long expectedVersion = request.version().orElse(null);
+        TaskStatus previousStatus = request.status().isPresent() ? taskRepository.findStatusForUpdate(taskId).orElse(null) : null;
+        if (taskRepository.updateColumns(taskId, userId, expectedVersion, changes) == 0) {
+            if (expectedVersion != null && taskRepository.existsByIdAndProject_User_IdAndProject_HiddenFalse(taskId, userId)) {
+                throw new ConflictException("Task was modified concurrently: " + taskId);
+            }
+            throw new NotFoundException("Task not found: " + taskId);
+        }
+        // the UPDATE above holds the task row, so tag diffs of the same task do not interleave
+        request.tags().ifPresent(tags -> tagsChanged(user, taskRepository.replaceTags(taskId, tags)));
+        Task task = findOwnedTask(taskId, userId);
+        if (previousStatus != null) {
+            statsService.recordTransition(taskId, task.getProject().getId(), userId, previousStatus, task.getStatus());
+        }
+        return invalidate(task);
+    }
+
+    @Transactional
+    public Task changeTags(Long taskId, TagChangeRequest request) {
+        User user = currentUserService.getCurrentUser();
+        Long userId = user.getId();
+        if (taskRepository.updateColumns(taskId, userId, null, Map.of("updatedAt", Instant.now())) == 0) {
+            throw new NotFoundException("Task not found: " + taskId);
+        }
+        tagsChanged(user, taskRepository.changeTags(taskId,
+                request.add() != null ? request.add() : Set.of(),
+                request.remove() != null ? request.remove() : Set.of()));
+        return invalidate(findOwnedTask(taskId, userId));
+    }
+
+    /**
+     * Drag-and-drop: gives the task a rank between its new neighbours, so only the moved row is written. A missing
+     * neighbour is looked up from the index; neighbours that are no longer adjacent in that order mean the client
+     * worked from a stale list.
+     */
+    @Transactional
+    public Task move(Long taskId, MoveTaskRequest request) {
+        if (request.beforeId() == null && request.afterId() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "beforeId or afterId is required");
+        }
+        Long userId = currentUserService.getCurrentUser().getId();
+        Map<Long, TaskRepository.TaskRank> ranks = loadRanks(taskId, request, userId);
+        Long projectId = ranks.get(taskId).getProjectId();
+        if (ranks.values().stream().anyMatch(r -> r.getRank() == null)) {
+            rankService.rebalance(projectId);
+            ranks = loadRanks(taskId, request, userId);
+        }
+        Bounds bounds = neighbourRanks(taskId, projectId, request, ranks);
+        if (bounds.upper() != null && bounds.upper().equals(bounds.lower())) {
+            // duplicate ranks leave no room in between; spread them out and look again
+            rankService.rebalance(projectId);
+            bounds = neighbourRanks(taskId, projectId, request, loadRanks(taskId, request, userId));
+        }
+        String lower = bounds.lower();
+        String upper = bounds.upper();
+        if (upper != null && (lower == null ? "" : lower).compareTo(upper) >= 0) {
+            throw new ConflictException("Task order was modified concurrently: " + taskId);
+        }
+        taskRepository.updateColumns(taskId, userId, null,
+                Map.of("rank", rankService.between(projectId, lower, upper), "updatedAt", Instant.now()));
+        return invalidate(findOwnedTask(taskId, userId));
+    }
+
+    /**
+     * Ranks around the target position; a side the client left out is the nearest rank in the index.
+     */
+    private Bounds neighbourRanks(Long taskId, Long projectId, MoveTaskRequest request,
+                                    Map<Long, TaskRepository.TaskRank> ranks) {
+        String lower = request.beforeId() != null ? ranks.get(request.beforeId()).getRank() : null;
+        String upper = request.afterId() != null ? ranks.get(request.afterId()).getRank() : null;
+        if (upper == null) {
+            upper = taskRepository.findRankAfter(projectId, lower, taskId).orElse(null);
+        } else if (lower == null) {
+            lower = taskRepository.findRankBefore(projectId, upper, taskId).orElse(null);
+        }
+        return new Bounds(lower, upper);
+    }
+
+    private Map<Long, TaskRepository.TaskRank> loadRanks(Long taskId, MoveTaskRequest request, Long userId) {
+        Set<Long> ids = new HashSet<>();
+        ids.add(taskId);
+        if (request.beforeId() != null) ids.add(request.beforeId());
+        if (request.afterId() != null) ids.add(request.afterId());
+        if (ids.size() < (request.beforeId() != null && request.afterId() != null ? 3 : 2)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "A task cannot be moved next to itself");
+        }
+        Map<Long, TaskRepository.TaskRank> ranks = taskRepository.findRanks(ids, userId).stream()
+                .collect(Collectors.toMap(TaskRepository.TaskRank::getId, Function.identity()));
+        TaskRepository.TaskRank moved = ranks.get(taskId);
+        if (moved == null) {
+            throw new NotFoundException("Task not found: " + taskId);
+        }
+        for (Long id : ids) {
+            TaskRepository.TaskRank neighbour = ranks.get(id);
+            if (neighbour == null || !neighbour.getProjectId().equals(moved.getProjectId())) {
+                throw new NotFoundException("Task not found: " + id);
+            }
+        }
+        return ranks;
     }
 
+    /**
+     * Flags the row and moves it to the cold tables in the same transaction, so the task never drops out of both the
+     * active and the archived listing.
+     */
+    @Transactional
     public void archive(Long taskId) {
-        Task task = findOwnedTask(taskId);
-        task.setArchived(true);
-        task.setUpdatedAt(Instant.now());
-        taskRepository.save(task);
+        User user = currentUserService.getCurrentUser();
+        if (taskRepository.updateColumns(taskId, user.getId(), null, Map.of("archived", true, "updatedAt", Instant.now())) == 0) {
+            throw new NotFoundException("Task not found: " + taskId);
+        }
+        Optional<Long> projectId = taskRepository.findProjectIdById(taskId);
+        Set<String> tags = taskRepository.findTags(taskId);
+        archiveService.moveToCold(List.of(taskId));
+        projectId.ifPresent(searchCache::invalidateProject);
+        tagSuggestService.tagsChanged(user.getEmail(), Set.of(), tags);
     }
 
+    /**
+     * The task, its attachment rows and its tags go in one transaction; attachment files are removed after commit.
+     */
+    @Transactional
     public void delete(Long taskId) {
         Task task = findOwnedTask(taskId);
+        Set<String> tags = taskRepository.findTags(taskId);
         taskRepository.delete(task);
+        // take the row lock now, so an upload racing this delete is either seen below or finds the task gone
+        taskRepository.flush();
+        attachmentService.deleteForTasks(List.of(taskId));
+        tagSuggestService.tagsChanged(currentUserService.getCurrentUsername(), Set.of(), tags);
+        invalidate(task);
+    }
+
+    private void tagsChanged(User user, TaskRepository.TagChanges changes) {
+        tagSuggestService.tagsChanged(user.getEmail(), changes.added(), changes.removed());
+    }
+
+    private Task invalidate(Task task) {
+        searchCache.invalidateProject(task.getProject().getId());
+        return task;
+    }
+
+    private record Bounds(String lower, String upper) {
+    }
+
+    private record SearchKey(String user, Long projectId, String keyword, TaskStatus status, Set<String> tags,
+                             int page, int size, String sort, Set<TaskField> fields) {
+    }
+
+    private static String encodeCursor(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor, int length) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", -1);
+            if (parts.length == length) {
+                return parts;
+            }
+        } catch (IllegalArgumentException ignored) {
+            // fall through
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
     }
 
     private Sort parseSort(String sort) {
         String[] parts = sort.split(",");
         String field = parts[0];
         Sort.Direction direction = parts.length > 1 ? Sort.Direction.fromString(parts[1]) : Sort.Direction.DESC;
+        if ("rank".equals(field)) {
+            // manual order defaults to top-down; id breaks ties between rows not ranked yet, matching idx_tasks_rank
+            direction = parts.length > 1 ? direction : Sort.Direction.ASC;
+            return Sort.by(direction, "rank", "id");
+        }
         return Sort.by(direction, field);
     }
 
@@ -94,11 +438,6 @@ public class TaskService {
         return (root, query, cb) -> cb.equal(root.get("project").get("id"), projectId);
     }
 
-    private Specification<Task> ownerEquals() {
-        Long userId = currentUserService.getCurrentUser().getId();
-        return (root, query, cb) -> cb.equal(root.get("project").get("user").get("id"), userId);
-    }
-
     private Specification<Task> notArchived() {
         return (root, query, cb) -> cb.isFalse(root.get("archived"));
     }
@@ -118,13 +457,21 @@ public class TaskService {
     }
 
     private Specification<Task> tagsIn(Set<String> tags) {
-        return (root, query, cb) -> root.join("tags").in(tags);
+        return (root, query, cb) -> {
+            // EXISTS rather than a join so a task matching several tags is still one row
+            Subquery<Long> tagged = query.subquery(Long.class);
+            Root<Task> task = tagged.from(Task.class);
+            tagged.select(task.get("id")).where(cb.equal(task, root), task.join("tags").in(tags));
+            return cb.exists(tagged);
+        };
     }
 
     private Task findOwnedTask(Long taskId) {
-        Long userId = currentUserService.getCurrentUser().getId();
-        return taskRepository.findById(taskId)
-                .filter(t -> t.getProject() != null && t.getProject().getUser() != null && userId.equals(t.getProject().getUser().getId()))
+        return findOwnedTask(taskId, currentUserService.getCurrentUser().getId());
+    }
+
+    private Task findOwnedTask(Long taskId, Long userId) {
+        return taskRepository.findByIdAndProject_User_IdAndProject_HiddenFalse(taskId, userId)
                 .orElseThrow(() -> new NotFoundException("Task not found: " + taskId));
     }
 }
@@ -0,0 +1,174 @@
+package com.example.todo.service;
+
+import com.example.todo.domain.TaskStatus;
+import com.example.todo.dto.TaskStatsResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Productivity time series. Every status change is appended to {@code task_status_events} and counted into the
+ * {@code task_daily_stats} bucket of its UTC day in the same transaction; charts read only the buckets. A nightly job
+ * rebuilds the recent buckets from the events, which repairs any drift from concurrent increments.
+ */
+@Service
+public class TaskStatsService {
+    private static final Logger log = LoggerFactory.getLogger(TaskStatsService.class);
+    private static final int MAX_DAYS = 731;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ProjectService projectService;
+    private final CurrentUserService currentUserService;
+    private final int rebuildDays;
+
+    public TaskStatsService(JdbcTemplate jdbcTemplate,
+                            TransactionTemplate transactionTemplate,
+                            ProjectService projectService,
+                            CurrentUserService currentUserService,
+                            @Value("${todo.stats.rebuild-days:7}") int rebuildDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.projectService = projectService;
+        this.currentUserService = currentUserService;
+        this.rebuildDays = rebuildDays;
+    }
+
+    /**
+     * Record a transition; {@code from} is {@code null} for a newly created task. No-op when the status is unchanged.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordTransition(Long taskId, Long projectId, Long userId, TaskStatus from, TaskStatus to) {
+        if (from == to) {
+            return;
+        }
+        Instant now = Instant.now();
+        LocalDate day = LocalDate.ofInstant(now, ZoneOffset.UTC);
+        jdbcTemplate.update("INSERT INTO task_status_events (task_id, project_id, user_id, from_status, to_status,"
+                        + " occurred_at, bucket_date) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                taskId, projectId, userId, from != null ? from.name() : null, to.name(), Timestamp.from(now), Date.valueOf(day));
+        int created = from == null ? 1 : 0;
+        int completed = to == TaskStatus.DONE ? 1 : 0;
+        if (created + completed > 0) {
+            increment(projectId, userId, day, created, completed);
+        }
+    }
+
+    /**
+     * Buckets of {@code [from, to)} for one project, or for all projects of the current user.
+     */
+    @Transactional(readOnly = true)
+    public TaskStatsResponse stats(Optional<Long> projectId, LocalDate from, LocalDate to, TaskStatsResponse.Bucket bucket) {
+        if (bucket == TaskStatsResponse.Bucket.WEEK) {
+            from = from.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            to = to.with(TemporalAdjusters.nextOrSame(DayOfWeek.MONDAY));
+        }
+        long days = ChronoUnit.DAYS.between(from, to);
+        if (days <= 0 || days > MAX_DAYS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Range must be between 1 and " + MAX_DAYS + " days");
+        }
+        List<Object> args = new ArrayList<>();
+        String sql = "SELECT bucket_date, SUM(created), SUM(completed) FROM task_daily_stats WHERE ";
+        if (projectId.isPresent()) {
+            projectService.findById(projectId.get());
+            sql += "project_id = ?";
+            args.add(projectId.get());
+        } else {
+            sql += "user_id = ?";
+            args.add(currentUserService.getCurrentUser().getId());
+        }
+        sql += " AND bucket_date >= ? AND bucket_date < ? GROUP BY bucket_date";
+        args.add(Date.valueOf(from));
+        args.add(Date.valueOf(to));
+
+        int step = bucket == TaskStatsResponse.Bucket.WEEK ? 7 : 1;
+        long[][] totals = new long[(int) (days / step)][2];
+        LocalDate start = from;
+        jdbcTemplate.query(sql, rs -> {
+            int index = (int) (ChronoUnit.DAYS.between(start, rs.getDate(1).toLocalDate()) / step);
+            totals[index][0] += rs.getLong(2);
+            totals[index][1] += rs.getLong(3);
+        }, args.toArray());
+        List<TaskStatsResponse.Point> points = new ArrayList<>(totals.length);
+        for (int i = 0; i < totals.length; i++) {
+            points.add(new TaskStatsResponse.Point(from.plusDays((long) i * step), totals[i][0], totals[i][1]));
+        }
+        return new TaskStatsResponse(bucket, from, to, points);
+    }
+
+    @Scheduled(cron = "${todo.stats.rebuild-cron:0 30 3 * * *}", zone = "UTC")
+    public void rebuildRecent() {
+        rebuild(LocalDate.now(ZoneOffset.UTC).minusDays(rebuildDays));
+    }
+
+    /**
+     * Recompute every bucket from {@code since} on from the event log, in one transaction.
+     */
+    public void rebuild(LocalDate since) {
+        Integer buckets = transactionTemplate.execute(s -> rebuildBuckets(since, "", List.of()));
+        log.info("Rebuilt {} task stats buckets since {}", buckets, since);
+    }
+
+    /**
+     * Like {@link #rebuild(LocalDate)}, but only the buckets of the given projects; joins the caller's transaction.
+     */
+    public void rebuild(LocalDate since, Collection<Long> projectIds) {
+        if (projectIds.isEmpty()) {
+            return;
+        }
+        String filter = " AND project_id IN (" + String.join(",", Collections.nCopies(projectIds.size(), "?")) + ")";
+        Integer buckets = transactionTemplate.execute(s -> rebuildBuckets(since, filter, projectIds));
+        log.info("Rebuilt {} task stats buckets of {} projects since {}", buckets, projectIds.size(), since);
+    }
+
+    private int rebuildBuckets(LocalDate since, String projectFilter, Collection<Long> projectIds) {
+        List<Object> args = new ArrayList<>();
+        args.add(Date.valueOf(since));
+        args.addAll(projectIds);
+        jdbcTemplate.update("DELETE FROM task_daily_stats WHERE bucket_date >= ?" + projectFilter, args.toArray());
+        return jdbcTemplate.update("INSERT INTO task_daily_stats (project_id, bucket_date, user_id, created, completed)"
+                + " SELECT project_id, bucket_date, MAX(user_id),"
+                + " SUM(CASE WHEN from_status IS NULL THEN 1 ELSE 0 END),"
+                + " SUM(CASE WHEN to_status = 'DONE' THEN 1 ELSE 0 END)"
+                + " FROM task_status_events WHERE bucket_date >= ?" + projectFilter + " GROUP BY project_id, bucket_date",
+                args.toArray());
+    }
+
+    private void increment(Long projectId, Long userId, LocalDate day, int created, int completed) {
+        String update = "UPDATE task_daily_stats SET created = created + ?, completed = completed + ?"
+                + " WHERE project_id = ? AND bucket_date = ?";
+        if (jdbcTemplate.update(update, created, completed, projectId, Date.valueOf(day)) > 0) {
+            return;
+        }
+        try {
+            jdbcTemplate.update("INSERT INTO task_daily_stats (project_id, bucket_date, user_id, created, completed)"
+                    + " VALUES (?, ?, ?, ?, ?)", projectId, Date.valueOf(day), userId, created, completed);
+        } catch (DuplicateKeyException e) {
+            // another transaction opened the bucket first
+            jdbcTemplate.update(update, created, completed, projectId, Date.valueOf(day));
+        }
+    }
+}
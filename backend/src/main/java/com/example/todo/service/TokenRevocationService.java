@@ -0,0 +1,180 @@
+package com.example.todo.service;
+
+import com.example.todo.config.JwtService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Token denylist ({@code revoked_tokens}) checked on every authenticated request without a query in the common
+ * case. Each node keeps a bloom filter of all live entries plus an exact map of the entries revoked since the filter
+ * was built; only a filter hit that the map cannot answer goes to the database, and that answer is cached briefly.
+ * Nodes poll for each other's revocations every {@code todo.auth.revocation.sync-interval-ms}; {@code revoked_at} is
+ * stamped by the database clock, so that watermark does not depend on how well the nodes' clocks agree.
+ */
+@Service
+public class TokenRevocationService {
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationService.class);
+    private static final String SUBJECT_PREFIX = "sub:";
+    /** Re-read this much before the last sync so rows committed slightly out of order are not missed. */
+    private static final Duration SYNC_OVERLAP = Duration.ofSeconds(5);
+    private static final RowMapper<Entry> ENTRY_MAPPER = (rs, i) -> new Entry(rs.getString(1),
+            rs.getTimestamp(2) != null ? rs.getTimestamp(2).toInstant() : null,
+            rs.getTimestamp(3).toInstant(), rs.getTimestamp(4).toInstant());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int expectedEntries;
+    private final double falsePositiveRate;
+    private final Map<String, Entry> recent = new ConcurrentHashMap<>();
+    private final Cache<String, Optional<Entry>> lookups;
+    private volatile BloomFilter filter;
+    private volatile Instant syncedUntil = Instant.EPOCH;
+
+    public TokenRevocationService(JdbcTemplate jdbcTemplate,
+                                  @Value("${todo.auth.revocation.expected-entries:100000}") int expectedEntries,
+                                  @Value("${todo.auth.revocation.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new BloomFilter(expectedEntries, falsePositiveRate);
+        this.lookups = Caffeine.newBuilder().maximumSize(10_000).expireAfterWrite(Duration.ofSeconds(30)).build();
+    }
+
+    /**
+     * Revoke one token until it would have expired anyway.
+     */
+    @Transactional
+    public void revoke(String tokenId, Instant expiresAt) {
+        try {
+            jdbcTemplate.update("INSERT INTO revoked_tokens (id, not_before, expires_at, revoked_at)"
+                    + " VALUES (?, NULL, ?, CURRENT_TIMESTAMP(3))", tokenId, Timestamp.from(expiresAt));
+        } catch (DuplicateKeyException e) {
+            // signed out twice (a retry or a second tab); the existing row already revokes the token
+        }
+        remember(new Entry(tokenId, null, expiresAt, Instant.now()));
+    }
+
+    /**
+     * Revoke every token of the user issued before now. Tokens carry whole-second issue times, so ones issued within
+     * the current second stay valid rather than risk rejecting the next login.
+     */
+    @Transactional
+    public void revokeAll(String subject) {
+        Instant now = Instant.now();
+        Entry entry = new Entry(SUBJECT_PREFIX + subject, now.truncatedTo(ChronoUnit.SECONDS),
+                now.plus(JwtService.TOKEN_LIFETIME), now);
+        Object[] values = {Timestamp.from(entry.notBefore()), Timestamp.from(entry.expiresAt()), entry.id()};
+        // never move the cut-off back if a concurrent call with a later clock got there first
+        String update = "UPDATE revoked_tokens SET not_before = GREATEST(not_before, ?), expires_at = GREATEST(expires_at, ?),"
+                + " revoked_at = CURRENT_TIMESTAMP(3) WHERE id = ?";
+        if (jdbcTemplate.update(update, values) == 0) {
+            try {
+                jdbcTemplate.update("INSERT INTO revoked_tokens (not_before, expires_at, revoked_at, id)"
+                        + " VALUES (?, ?, CURRENT_TIMESTAMP(3), ?)", values);
+            } catch (DuplicateKeyException e) {
+                // a concurrent sign-out-everywhere inserted the row first
+                jdbcTemplate.update(update, values);
+            }
+        }
+        remember(entry);
+    }
+
+    /**
+     * @param tokenId  the {@code jti}; tokens issued before ids were introduced have none
+     * @param issuedAt the {@code iat}, compared against "sign out everywhere"
+     */
+    public boolean isRevoked(String tokenId, String subject, Instant issuedAt) {
+        return (tokenId != null && check(tokenId, issuedAt)) || check(SUBJECT_PREFIX + subject, issuedAt);
+    }
+
+    private boolean check(String key, Instant issuedAt) {
+        Entry entry = recent.get(key);
+        if (entry == null) {
+            if (!filter.mightContain(key)) {
+                return false;
+            }
+            entry = lookups.get(key, k -> jdbcTemplate.query(
+                    "SELECT id, not_before, expires_at, revoked_at FROM revoked_tokens WHERE id = ?", ENTRY_MAPPER, k)
+                    .stream().findFirst()).orElse(null);
+        }
+        return entry != null && entry.revokes(issuedAt);
+    }
+
+    private void remember(Entry entry) {
+        recent.put(entry.id(), entry);
+        filter.add(entry.id());
+        lookups.invalidate(entry.id());
+    }
+
+    @Scheduled(fixedDelayString = "${todo.auth.revocation.sync-interval-ms:2000}",
+            initialDelayString = "${todo.auth.revocation.sync-interval-ms:2000}")
+    public void sync() {
+        List<Entry> entries = jdbcTemplate.query(
+                "SELECT id, not_before, expires_at, revoked_at FROM revoked_tokens WHERE revoked_at > ?",
+                ENTRY_MAPPER, Timestamp.from(syncedUntil.minus(SYNC_OVERLAP)));
+        Instant until = syncedUntil;
+        for (Entry entry : entries) {
+            remember(entry);
+            if (entry.revokedAt().isAfter(until)) {
+                until = entry.revokedAt();
+            }
+        }
+        syncedUntil = until;
+    }
+
+    /**
+     * Drop expired rows and rebuild the filter from the live ones; bloom filters cannot forget, so this is also what
+     * keeps the false-positive rate down as entries expire.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${todo.auth.revocation.rebuild-interval-ms:3600000}",
+            initialDelayString = "${todo.auth.revocation.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        Instant now = Instant.now();
+        int expired = jdbcTemplate.update("DELETE FROM revoked_tokens WHERE expires_at < ?", Timestamp.from(now));
+        List<Entry> live = jdbcTemplate.query("SELECT id, not_before, expires_at, revoked_at FROM revoked_tokens", ENTRY_MAPPER);
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedEntries, live.size() * 2), falsePositiveRate);
+        Instant until = syncedUntil;
+        for (Entry entry : live) {
+            rebuilt.add(entry.id());
+            if (entry.revokedAt().isAfter(until)) {
+                until = entry.revokedAt();
+            }
+        }
+        // revocations that raced with the snapshot are still in the exact map; carry them over before swapping
+        recent.values().forEach(e -> rebuilt.add(e.id()));
+        filter = rebuilt;
+        syncedUntil = until;
+        Instant snapshot = now.minus(SYNC_OVERLAP);
+        recent.values().removeIf(e -> e.revokedAt().isBefore(snapshot) || e.expiresAt().isBefore(now));
+        log.info("Token denylist rebuilt: {} live entries, {} expired removed", live.size(), expired);
+    }
+
+    private record Entry(String id, Instant notBefore, Instant expiresAt, Instant revokedAt) {
+        boolean revokes(Instant issuedAt) {
+            if (expiresAt.isBefore(Instant.now())) {
+                return false;
+            }
+            return notBefore == null || issuedAt == null || issuedAt.isBefore(notBefore);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package db.migration;
+
+import com.example.todo.config.AvatarBackfill;
+import com.example.todo.service.AvatarService;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.Map;
+
+/**
+ * One-time move of data-URL avatars out of {@code users.avatar_url} into the avatar store, so V10 can shrink
+ * the column back to VARCHAR. Found by Flyway on the classpath, so the store location comes in through the
+ * {@code avatarRoot} / {@code avatarMaxBytes} placeholders; {@link AvatarBackfill} does the same on startup.
+ */
+public class V9__MoveAvatarsToBlobStore extends BaseJavaMigration {
+    private static final int BATCH_SIZE = 1000;
+
+    @Override
+    public void migrate(Context context) {
+        Map<String, String> placeholders = context.getConfiguration().getPlaceholders();
+        AvatarService avatarService = new AvatarService(
+                placeholders.getOrDefault("avatarRoot", "data/avatars"),
+                Long.parseLong(placeholders.getOrDefault("avatarMaxBytes", "2097152")));
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(context.getConnection(), true));
+        AvatarBackfill.moveDataUrls(jdbcTemplate, avatarService, BATCH_SIZE);
+    }
+}
@@ -0,0 +1,2 @@
+-- avatars now live in the blob store (see V9__MoveAvatarsToBlobStore); only references remain
+ALTER TABLE users MODIFY avatar_url VARCHAR(500);
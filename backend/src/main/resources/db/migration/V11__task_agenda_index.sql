@@ -0,0 +1,9 @@
+-- owner copied onto tasks so the agenda does not have to go through projects
+ALTER TABLE tasks
+    ADD COLUMN user_id BIGINT NULL,
+    ADD COLUMN priority_rank INT GENERATED ALWAYS AS (
+        CASE priority WHEN 'CRITICAL' THEN 0 WHEN 'HIGH' THEN 1 WHEN 'MEDIUM' THEN 2 ELSE 3 END) VIRTUAL;
+
+UPDATE tasks t JOIN projects p ON p.id = t.project_id SET t.user_id = p.user_id;
+
+CREATE INDEX idx_tasks_agenda ON tasks (user_id, archived, due_at, priority_rank, id);
@@ -0,0 +1,4 @@
+-- manual ordering; existing rows are ranked by TaskRankService on first run
+ALTER TABLE tasks ADD COLUMN sort_rank VARCHAR(255) NULL;
+
+CREATE INDEX idx_tasks_rank ON tasks (project_id, archived, sort_rank, id);
@@ -0,0 +1,2 @@
+-- one range per kanban column: status, then manual order
+CREATE INDEX idx_tasks_board ON tasks (project_id, archived, status, sort_rank, id);
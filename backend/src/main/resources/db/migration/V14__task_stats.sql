@@ -0,0 +1,38 @@
+CREATE TABLE task_status_events (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    task_id BIGINT NOT NULL,
+    project_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    from_status ENUM('TODO', 'DOING', 'DONE', 'ARCHIVED') NULL,
+    to_status ENUM('TODO', 'DOING', 'DONE', 'ARCHIVED') NOT NULL,
+    occurred_at TIMESTAMP NOT NULL,
+    bucket_date DATE NOT NULL
+);
+CREATE INDEX idx_task_status_events_day ON task_status_events (bucket_date);
+CREATE INDEX idx_task_status_events_project ON task_status_events (project_id, id);
+
+CREATE TABLE task_daily_stats (
+    project_id BIGINT NOT NULL,
+    bucket_date DATE NOT NULL,
+    user_id BIGINT NOT NULL,
+    created INT NOT NULL DEFAULT 0,
+    completed INT NOT NULL DEFAULT 0,
+    PRIMARY KEY (project_id, bucket_date)
+);
+CREATE INDEX idx_task_daily_stats_user ON task_daily_stats (user_id, bucket_date);
+
+-- history before this migration is not known: every existing task gets its creation, and tasks that are done now
+-- a completion at their last update
+INSERT INTO task_status_events (task_id, project_id, user_id, from_status, to_status, occurred_at, bucket_date)
+SELECT id, project_id, user_id, NULL, 'TODO', created_at, DATE(created_at) FROM tasks WHERE user_id IS NOT NULL;
+
+INSERT INTO task_status_events (task_id, project_id, user_id, from_status, to_status, occurred_at, bucket_date)
+SELECT id, project_id, user_id, 'TODO', 'DONE', COALESCE(updated_at, created_at), DATE(COALESCE(updated_at, created_at))
+FROM tasks WHERE user_id IS NOT NULL AND status = 'DONE';
+
+INSERT INTO task_daily_stats (project_id, bucket_date, user_id, created, completed)
+SELECT project_id, bucket_date, MAX(user_id),
+       SUM(CASE WHEN from_status IS NULL THEN 1 ELSE 0 END),
+       SUM(CASE WHEN to_status = 'DONE' THEN 1 ELSE 0 END)
+FROM task_status_events
+GROUP BY project_id, bucket_date;
@@ -0,0 +1,8 @@
+CREATE TABLE revoked_tokens (
+    id VARCHAR(300) NOT NULL PRIMARY KEY,
+    not_before TIMESTAMP NULL,
+    expires_at TIMESTAMP NOT NULL,
+    revoked_at TIMESTAMP NOT NULL
+);
+-- nodes poll for revocations newer than their last sync
+CREATE INDEX idx_revoked_tokens_revoked_at ON revoked_tokens (revoked_at);
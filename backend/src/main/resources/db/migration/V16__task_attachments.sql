@@ -0,0 +1,12 @@
+CREATE TABLE task_attachments (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    task_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    file_name VARCHAR(255) NOT NULL,
+    content_type VARCHAR(100) NOT NULL,
+    size_bytes BIGINT NOT NULL,
+    storage_key VARCHAR(32) NOT NULL UNIQUE,
+    created_at TIMESTAMP NOT NULL
+);
+CREATE INDEX idx_task_attachments_task ON task_attachments (task_id, id);
+CREATE INDEX idx_task_attachments_user ON task_attachments (user_id);
@@ -0,0 +1 @@
+ALTER TABLE projects ADD COLUMN hidden BOOLEAN NOT NULL DEFAULT FALSE;
@@ -0,0 +1,26 @@
+CREATE TABLE tasks_archive (
+    id BIGINT NOT NULL PRIMARY KEY,
+    project_id BIGINT,
+    title VARCHAR(255) NOT NULL,
+    description VARCHAR(2000),
+    status ENUM('TODO', 'DOING', 'DONE', 'ARCHIVED') NOT NULL,
+    priority ENUM('LOW', 'MEDIUM', 'HIGH', 'CRITICAL') NOT NULL,
+    due_at TIMESTAMP NULL,
+    remind_at TIMESTAMP NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_tasks_archive_project FOREIGN KEY (project_id) REFERENCES projects(id)
+);
+CREATE INDEX idx_tasks_archive_project ON tasks_archive (project_id, archived_at);
+
+CREATE TABLE task_tags_archive (
+    task_id BIGINT NOT NULL,
+    tag VARCHAR(100) NOT NULL,
+    PRIMARY KEY (task_id, tag),
+    CONSTRAINT fk_task_tags_archive_task FOREIGN KEY (task_id) REFERENCES tasks_archive(id) ON DELETE CASCADE
+);
+
+-- lets the mover find archived rows without scanning active work
+CREATE INDEX idx_tasks_archived ON tasks (archived, id);
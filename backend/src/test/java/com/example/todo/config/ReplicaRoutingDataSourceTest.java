@@ -0,0 +1,86 @@
+package com.example.todo.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two in-memory H2 databases stand in for primary and replica; each holds a marker row naming itself.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void routesReadOnlyTransactionsToReplica() {
+        Fixture f = new Fixture(h2("replica-a"), Duration.ofSeconds(5));
+        assertThat(f.whoAnswers(true)).isEqualTo("replica-a");
+        assertThat(f.whoAnswers(false)).isEqualTo("primary");
+    }
+
+    @Test
+    void keepsReadsOnPrimaryAfterOwnWrite() {
+        Fixture f = new Fixture(h2("replica-b"), Duration.ofSeconds(30));
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("writer@example.com", null));
+        f.write.executeWithoutResult(s -> f.jdbc.update("UPDATE node SET name = name"));
+        assertThat(f.whoAnswers(true)).isEqualTo("primary");
+
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("other@example.com", null));
+        assertThat(f.whoAnswers(true)).isEqualTo("replica-b");
+    }
+
+    @Test
+    void fallsBackToPrimaryWhenReplicaIsDown() {
+        DataSource broken = new DriverManagerDataSource("jdbc:h2:mem:missing-replica;IFEXISTS=TRUE", "sa", "");
+        Fixture f = new Fixture(broken, Duration.ofSeconds(5));
+        assertThat(f.whoAnswers(true)).isEqualTo("primary");
+        f.routing.checkHealth();
+        assertThat(f.whoAnswers(true)).isEqualTo("primary");
+    }
+
+    private static DataSource h2(String name) {
+        DataSource ds = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(ds);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(50))");
+        jdbc.update("DELETE FROM node");
+        jdbc.update("INSERT INTO node (name) VALUES (?)", name);
+        return ds;
+    }
+
+    private static final class Fixture {
+        final ReplicaRoutingDataSource routing;
+        final JdbcTemplate jdbc;
+        final TransactionTemplate read;
+        final TransactionTemplate write;
+
+        Fixture(DataSource replica, Duration window) {
+            routing = new ReplicaRoutingDataSource(h2("primary"), List.of(replica),
+                    ReplicaRoutingDataSource.Balancing.ROUND_ROBIN, window);
+            DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+            DataSourceTransactionManager tm = new DataSourceTransactionManager(dataSource);
+            jdbc = new JdbcTemplate(dataSource);
+            write = new TransactionTemplate(tm);
+            read = new TransactionTemplate(tm);
+            read.setReadOnly(true);
+        }
+
+        String whoAnswers(boolean readOnly) {
+            return (readOnly ? read : write).execute(s -> jdbc.queryForObject("SELECT name FROM node", String.class));
+        }
+    }
+}
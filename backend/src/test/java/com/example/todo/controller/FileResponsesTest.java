@@ -0,0 +1,33 @@
+package com.example.todo.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileResponsesTest {
+
+    @Test
+    void parsesSingleRanges() {
+        assertThat(FileResponses.range("bytes=2-4", 10)).isEqualTo(new FileResponses.ByteRange(2, 3));
+        assertThat(FileResponses.range("bytes=7-", 10)).isEqualTo(new FileResponses.ByteRange(7, 3));
+        assertThat(FileResponses.range("bytes=-3", 10)).isEqualTo(new FileResponses.ByteRange(7, 3));
+        assertThat(FileResponses.range("bytes=-30", 10)).isEqualTo(new FileResponses.ByteRange(0, 10));
+        assertThat(FileResponses.range("bytes=5-100", 10)).isEqualTo(new FileResponses.ByteRange(5, 5));
+    }
+
+    @Test
+    void rangesPastTheEndAreUnsatisfiable() {
+        assertThat(FileResponses.range("bytes=10-", 10)).isSameAs(FileResponses.ByteRange.UNSATISFIABLE);
+        assertThat(FileResponses.range("bytes=20-30", 10)).isSameAs(FileResponses.ByteRange.UNSATISFIABLE);
+        assertThat(FileResponses.range("bytes=-0", 10)).isSameAs(FileResponses.ByteRange.UNSATISFIABLE);
+    }
+
+    @Test
+    void anythingElseMeansTheWholeFile() {
+        assertThat(FileResponses.range(null, 10)).isNull();
+        assertThat(FileResponses.range("items=0-1", 10)).isNull();
+        assertThat(FileResponses.range("bytes=0-1,4-5", 10)).isNull();
+        assertThat(FileResponses.range("bytes=4-2", 10)).isNull();
+        assertThat(FileResponses.range("bytes=a-b", 10)).isNull();
+    }
+}
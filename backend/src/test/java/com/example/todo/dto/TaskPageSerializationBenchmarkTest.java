@@ -0,0 +1,115 @@
+package com.example.todo.dto;
+
+import com.example.todo.domain.Priority;
+import com.example.todo.domain.Project;
+import com.example.todo.domain.Task;
+import com.example.todo.domain.TaskStatus;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Before/after comparison for the task list payload: Spring's {@code PageImpl<TaskResponse>} versus the
+ * streamed {@link TaskPage}. Logs bytes per page and bytes allocated per serialized request at DEBUG.
+ */
+class TaskPageSerializationBenchmarkTest {
+    private static final Logger log = LoggerFactory.getLogger(TaskPageSerializationBenchmarkTest.class);
+
+    private static final int ROWS = 20;
+    private static final int ITERATIONS = 2_000;
+
+    private final ObjectMapper mapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    @Test
+    void streamedEnvelopeIsSmallerAndAllocatesLess() throws Exception {
+        Page<TaskResponse> page = samplePage().map(TaskResponse::from);
+
+        byte[] before = mapper.writeValueAsBytes(page);
+        byte[] after = mapper.writeValueAsBytes(new TaskPage(page));
+
+        JsonNode legacy = mapper.readTree(before);
+        JsonNode streamed = mapper.readTree(after);
+        assertThat(streamed.get("content")).isEqualTo(legacy.get("content"));
+        assertThat(streamed.get("totalElements")).isEqualTo(legacy.get("totalElements"));
+        assertThat(streamed.get("number")).isEqualTo(legacy.get("number"));
+
+        // write to a discarding stream so only serializer allocations are counted, not the output buffer
+        OutputStream sink = new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+        };
+        long allocBefore = allocatedPerRequest(() -> mapper.writeValue(sink, page));
+        long allocAfter = allocatedPerRequest(() -> mapper.writeValue(sink, new TaskPage(page)));
+        log.debug("task page ({} rows): bytes {} -> {}, allocated bytes/request {} -> {}",
+                ROWS, before.length, after.length, allocBefore, allocAfter);
+
+        assertThat(after.length).isLessThan(before.length);
+        // the envelope is written field by field instead of building PageImpl's nested metadata
+        assertThat(allocAfter).isLessThan(allocBefore / 4);
+    }
+
+    private static long allocatedPerRequest(ThrowingRunnable request) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        for (int i = 0; i < ITERATIONS; i++) {
+            request.run();
+        }
+        long start = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < ITERATIONS; i++) {
+            request.run();
+        }
+        return (threads.getThreadAllocatedBytes(thread) - start) / ITERATIONS;
+    }
+
+    private static Page<Task> samplePage() {
+        Project project = new Project();
+        project.setId(7L);
+        List<Task> tasks = new ArrayList<>();
+        for (long i = 1; i <= ROWS; i++) {
+            Task task = new Task();
+            task.setId(i);
+            task.setProject(project);
+            task.setTitle("Task number " + i);
+            task.setDescription("Description for task " + i + " with a little more text to look realistic");
+            task.setStatus(TaskStatus.values()[(int) (i % 3)]);
+            task.setPriority(Priority.values()[(int) (i % 4)]);
+            task.setDueAt(Instant.parse("2024-02-28T10:00:00Z").plusSeconds(i * 7200));
+            task.setRemindAt(i % 2 == 0 ? Instant.parse("1969-12-31T23:59:59.5Z").plusMillis(i) : null);
+            task.setTags(Set.of("work", "tag-" + i));
+            task.setCreatedAt(Instant.parse("2025-12-01T08:30:00Z").plusNanos(i));
+            task.setUpdatedAt(Instant.parse("2025-12-02T08:30:00.123456Z"));
+            task.setVersion(i);
+            tasks.add(task);
+        }
+        return new PageImpl<>(tasks, PageRequest.of(0, ROWS, Sort.by(Sort.Direction.DESC, "createdAt")), 137);
+    }
+
+    @FunctionalInterface
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
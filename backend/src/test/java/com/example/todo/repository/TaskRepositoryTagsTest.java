@@ -0,0 +1,97 @@
+package com.example.todo.repository;
+
+import com.example.todo.domain.User;
+import com.example.todo.dto.ProjectRequest;
+import com.example.todo.dto.TaskRequest;
+import com.example.todo.service.ProjectService;
+import com.example.todo.service.TaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class TaskRepositoryTagsTest {
+
+    private static final String EMAIL = "tags@example.com";
+
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ProjectService projectService;
+    @Autowired
+    private TaskService taskService;
+
+    private Long taskId;
+
+    @BeforeEach
+    void createTask() {
+        if (!userRepository.existsByEmail(EMAIL)) {
+            User user = new User();
+            user.setEmail(EMAIL);
+            user.setPassword("unused");
+            user.setDisplayName("tags");
+            userRepository.save(user);
+        }
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(EMAIL, null));
+        Long projectId = projectService.create(new ProjectRequest("tags", null)).getId();
+        taskId = taskService.create(projectId, new TaskRequest("tagged", null, null, null, null, null, Set.of("a", "b"))).getId();
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void replaceTouchesOnlyTheDifference() {
+        TaskRepositoryCustom.TagChanges changes = taskRepository.replaceTags(taskId, Set.of("b", "c"));
+
+        assertThat(changes.added()).containsExactly("c");
+        assertThat(changes.removed()).containsExactly("a");
+        assertThat(taskRepository.findTags(taskId)).containsExactlyInAnyOrder("b", "c");
+    }
+
+    @Test
+    void replaceWithTheSameTagsIsANoOp() {
+        TaskRepositoryCustom.TagChanges changes = taskRepository.replaceTags(taskId, Set.of("a", "b"));
+
+        assertThat(changes.added()).isEmpty();
+        assertThat(changes.removed()).isEmpty();
+    }
+
+    @Test
+    void addingAPresentTagIsANoOp() {
+        TaskRepositoryCustom.TagChanges changes = taskRepository.changeTags(taskId, Set.of("a", "c"), Set.of());
+
+        assertThat(changes.added()).containsExactly("c");
+        assertThat(taskRepository.changeTags(taskId, Set.of("a", "c"), Set.of()).added()).isEmpty();
+        assertThat(taskRepository.findTags(taskId)).containsExactlyInAnyOrder("a", "b", "c");
+    }
+
+    @Test
+    void removingAMissingTagIsANoOp() {
+        TaskRepositoryCustom.TagChanges changes = taskRepository.changeTags(taskId, Set.of(), Set.of("b", "z"));
+
+        assertThat(changes.removed()).containsExactly("b");
+        assertThat(taskRepository.findTags(taskId)).containsExactly("a");
+    }
+
+    @Test
+    void tagInBothSetsIsRemoved() {
+        TaskRepositoryCustom.TagChanges changes = taskRepository.changeTags(taskId, Set.of("a", "x"), Set.of("a", "x"));
+
+        assertThat(changes.added()).isEmpty();
+        assertThat(changes.removed()).containsExactly("a");
+        assertThat(taskRepository.findTags(taskId)).containsExactly("b");
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.todo.service;
+
+import com.example.todo.domain.User;
+import com.example.todo.dto.ProjectRequest;
+import com.example.todo.dto.TaskRequest;
+import com.example.todo.dto.TaskResponse;
+import com.example.todo.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ArchiveServiceTest {
+
+    private static final String EMAIL = "archive@example.com";
+
+    @Autowired
+    private ArchiveService archiveService;
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private ProjectService projectService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void archivedTaskIsListedWithoutWaitingForTheMover() {
+        ensureUser();
+        authenticate();
+        Long projectId = projectService.create(new ProjectRequest("archive", null)).getId();
+        Long taskId = taskService.create(projectId, new TaskRequest("old news", null, null, null, null, null, null)).getId();
+
+        taskService.archive(taskId);
+
+        assertThat(archiveService.search(projectId, 0, 20).map(TaskResponse::id)).containsExactly(taskId);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tasks WHERE id = ?", Integer.class, taskId)).isZero();
+
+        archiveService.restore(taskId);
+
+        assertThat(archiveService.search(projectId, 0, 20)).isEmpty();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tasks WHERE id = ? AND archived = FALSE",
+                Integer.class, taskId)).isEqualTo(1);
+    }
+
+    private void ensureUser() {
+        if (!userRepository.existsByEmail(EMAIL)) {
+            User user = new User();
+            user.setEmail(EMAIL);
+            user.setPassword("unused");
+            user.setDisplayName("archive");
+            userRepository.save(user);
+        }
+    }
+
+    private void authenticate() {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(EMAIL, null));
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.todo.service;
+
+import com.example.todo.controller.AttachmentController;
+import com.example.todo.domain.User;
+import com.example.todo.dto.AttachmentResponse;
+import com.example.todo.dto.ProjectRequest;
+import com.example.todo.dto.TaskRequest;
+import com.example.todo.exception.NotFoundException;
+import com.example.todo.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class AttachmentServiceTest {
+
+    @TempDir
+    static Path root;
+
+    @DynamicPropertySource
+    static void attachmentProperties(DynamicPropertyRegistry registry) {
+        registry.add("todo.attachments.root", root::toString);
+        registry.add("todo.attachments.quota-bytes", () -> 16);
+    }
+
+    @Autowired
+    private AttachmentService attachmentService;
+    @Autowired
+    private AttachmentController attachmentController;
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private ProjectService projectService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void uploadsAreBoundByTheQuotaAndCleanedUpWithTheirTask() throws IOException {
+        signIn("quota@example.com");
+        Long taskId = createTask("quota");
+
+        AttachmentResponse attachment = attachmentService.upload(taskId, file("0123456789"));
+        Path stored = attachmentService.file(attachmentService.find(attachment.id()));
+        int filesBefore = files().size();
+        assertThatThrownBy(() -> attachmentService.upload(taskId, file("0123456789")))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("quota");
+        assertThat(files()).hasSize(filesBefore);
+
+        taskService.delete(taskId);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM task_attachments WHERE task_id = ?",
+                Integer.class, taskId)).isZero();
+        assertThat(stored).doesNotExist();
+    }
+
+    @Test
+    void attachmentsOfAnArchivedTaskAreUnreachable() throws IOException {
+        signIn("archived-attachments@example.com");
+        Long taskId = createTask("archived");
+        AttachmentResponse attachment = attachmentService.upload(taskId, file("x"));
+
+        taskService.archive(taskId);
+
+        assertThatThrownBy(() -> attachmentService.list(taskId)).isInstanceOf(NotFoundException.class);
+        assertThatThrownBy(() -> attachmentService.upload(taskId, file("y"))).isInstanceOf(NotFoundException.class);
+        assertThatThrownBy(() -> attachmentService.find(attachment.id())).isInstanceOf(NotFoundException.class);
+        assertThatThrownBy(() -> attachmentService.delete(attachment.id())).isInstanceOf(NotFoundException.class);
+    }
+
+    @Test
+    void rangeIsHonouredOnlyWhileIfRangeMatches() throws IOException {
+        signIn("range@example.com");
+        Long taskId = createTask("range");
+        AttachmentResponse attachment = attachmentService.upload(taskId, file("abcdef"));
+
+        MockHttpServletResponse partial = download(attachment.id(), "bytes=1-3", null);
+        assertThat(partial.getStatus()).isEqualTo(206);
+        assertThat(partial.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 1-3/6");
+        assertThat(partial.getContentAsString()).isEqualTo("bcd");
+
+        String etag = partial.getHeader(HttpHeaders.ETAG);
+        assertThat(download(attachment.id(), "bytes=1-3", etag).getStatus()).isEqualTo(206);
+        MockHttpServletResponse stale = download(attachment.id(), "bytes=1-3", "\"stale\"");
+        assertThat(stale.getStatus()).isEqualTo(200);
+        assertThat(stale.getContentAsString()).isEqualTo("abcdef");
+
+        assertThat(download(attachment.id(), "bytes=6-", null).getStatus()).isEqualTo(416);
+    }
+
+    private MockHttpServletResponse download(Long attachmentId, String range, String ifRange) throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.RANGE, range);
+        if (ifRange != null) {
+            request.addHeader(HttpHeaders.IF_RANGE, ifRange);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        attachmentController.download(attachmentId, request, response);
+        return response;
+    }
+
+    private Long createTask(String title) {
+        Long projectId = projectService.create(new ProjectRequest(title, null)).getId();
+        return taskService.create(projectId, new TaskRequest(title, null, null, null, null, null, null)).getId();
+    }
+
+    private static MockMultipartFile file(String content) {
+        return new MockMultipartFile("file", "note.txt", "text/plain", content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<Path> files() throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            return paths.filter(Files::isRegularFile).toList();
+        }
+    }
+
+    /** One user per test, so each starts with the whole quota. */
+    private void signIn(String email) {
+        if (!userRepository.existsByEmail(email)) {
+            User user = new User();
+            user.setEmail(email);
+            user.setPassword("unused");
+            user.setDisplayName("attachments");
+            userRepository.save(user);
+        }
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(email, null));
+    }
+}
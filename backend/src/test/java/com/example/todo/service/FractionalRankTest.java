@@ -0,0 +1,60 @@
+package com.example.todo.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FractionalRankTest {
+
+    @Test
+    void keysStayOrderedUnderRandomInserts() {
+        List<String> keys = new ArrayList<>(List.of(FractionalRank.between(null, null)));
+        Random random = new Random(42);
+        for (int i = 0; i < 5000; i++) {
+            int at = random.nextInt(keys.size() + 1);
+            String lower = at > 0 ? keys.get(at - 1) : null;
+            String upper = at < keys.size() ? keys.get(at) : null;
+            String key = FractionalRank.between(lower, upper);
+            if (lower != null) assertThat(key).isGreaterThan(lower);
+            if (upper != null) assertThat(key).isLessThan(upper);
+            assertThat(key).doesNotEndWith("0");
+            keys.add(at, key);
+        }
+    }
+
+    @Test
+    void appendingAndPrependingKeepKeysShort() {
+        String last = null;
+        String first = null;
+        for (int i = 0; i < 1000; i++) {
+            last = FractionalRank.between(last, null);
+            first = first == null ? last : FractionalRank.between(null, first);
+        }
+        assertThat(last.length()).isLessThanOrEqualTo(32);
+        assertThat(first.length()).isLessThanOrEqualTo(32);
+    }
+
+    @Test
+    void squeezesBetweenAdjacentKeys() {
+        assertThat(FractionalRank.between("a", "b")).isEqualTo("ai");
+        assertThat(FractionalRank.between("a", "a1")).isEqualTo("a0i");
+    }
+
+    @Test
+    void spreadIsStrictlyIncreasing() {
+        List<String> keys = FractionalRank.spread(10_000);
+        assertThat(keys).isSorted().doesNotHaveDuplicates();
+        assertThat(keys).allSatisfy(k -> assertThat(k).doesNotEndWith("0").hasSizeLessThanOrEqualTo(4));
+        assertThat(FractionalRank.spread(0)).isEmpty();
+    }
+
+    @Test
+    void rejectsInvertedBounds() {
+        assertThatThrownBy(() -> FractionalRank.between("b", "a")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.todo.service;
+
+import com.example.todo.dto.TagSuggestion;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TagIndexTest {
+
+    @Test
+    void prefixMatchesEveryCaseVariant() {
+        TagIndex index = new TagIndex();
+        index.add("WORK", 1);
+        index.add("Work", 2);
+        index.add("work", 3);
+        index.add("workshop", 1);
+        index.add("home", 5);
+
+        assertThat(index.suggest("work", 10)).extracting(TagSuggestion::tag)
+                .containsExactly("work", "Work", "WORK", "workshop");
+        assertThat(index.suggest("WORK", 10)).hasSize(4);
+        assertThat(index.suggest("Wo", 10)).hasSize(4);
+        assertThat(index.suggest("x", 10)).isEmpty();
+    }
+
+    @Test
+    void ranksByCountThenAlphabeticallyAndHonoursTheLimit() {
+        TagIndex index = new TagIndex();
+        index.add("beta", 2);
+        index.add("alpha", 2);
+        index.add("gamma", 7);
+        index.add("delta", 1);
+
+        assertThat(index.suggest("", 3)).containsExactly(
+                new TagSuggestion("gamma", 7), new TagSuggestion("alpha", 2), new TagSuggestion("beta", 2));
+    }
+
+    @Test
+    void removingTheLastUseDropsTheTag() {
+        TagIndex index = new TagIndex();
+        index.add("urgent", 2);
+        index.remove("urgent");
+        assertThat(index.suggest("urg", 10)).containsExactly(new TagSuggestion("urgent", 1));
+        index.remove("urgent");
+        index.remove("urgent");
+        assertThat(index.suggest("urg", 10)).isEmpty();
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.todo.service;
+
+import com.example.todo.domain.Task;
+import com.example.todo.domain.TaskStatus;
+import com.example.todo.domain.User;
+import com.example.todo.dto.ProjectRequest;
+import com.example.todo.dto.TaskRequest;
+import com.example.todo.dto.TaskUpdateRequest;
+import com.example.todo.exception.ConflictException;
+import com.example.todo.repository.TaskRepository;
+import com.example.todo.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class TaskServiceConcurrencyTest {
+
+    private static final String EMAIL = "concurrency@example.com";
+
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private ProjectService projectService;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void versionedUpdatesDoNotLoseWrites() throws Exception {
+        ensureUser();
+        authenticate();
+        Long projectId = projectService.create(new ProjectRequest("stress", null)).getId();
+        Long taskId = taskService.create(projectId, new TaskRequest("0", null, null, null, null, null, null)).getId();
+
+        int threads = 8;
+        int incrementsPerThread = 20;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(pool.submit(() -> {
+                authenticate();
+                for (int i = 0; i < incrementsPerThread; i++) {
+                    incrementTitle(taskId);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        Task task = taskRepository.findById(taskId).orElseThrow();
+        int expected = threads * incrementsPerThread;
+        assertThat(task.getTitle()).isEqualTo(String.valueOf(expected));
+        assertThat(task.getVersion()).isEqualTo(expected);
+    }
+
+    @Test
+    void concurrentStatusChangeIsRecordedOnce() throws Exception {
+        ensureUser();
+        authenticate();
+        Long projectId = projectService.create(new ProjectRequest("status race", null)).getId();
+        Long taskId = taskService.create(projectId, new TaskRequest("done twice", null, null, null, null, null, null)).getId();
+
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(pool.submit(() -> {
+                authenticate();
+                taskService.update(taskId, new TaskUpdateRequest(Optional.empty(), Optional.empty(),
+                        Optional.of(TaskStatus.DONE), Optional.empty(), Optional.empty(), Optional.empty(),
+                        Optional.empty(), Optional.empty()));
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM task_status_events WHERE task_id = ? AND to_status = 'DONE'",
+                Integer.class, taskId)).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentCreatesGetDistinctRanks() throws Exception {
+        ensureUser();
+        authenticate();
+        Long projectId = projectService.create(new ProjectRequest("append race", null)).getId();
+
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            String title = "task " + t;
+            futures.add(pool.submit(() -> {
+                authenticate();
+                taskService.create(projectId, new TaskRequest(title, null, null, null, null, null, null));
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT sort_rank) FROM tasks WHERE project_id = ?",
+                Integer.class, projectId)).isEqualTo(threads);
+    }
+
+    @Test
+    void concurrentTagUpdatesDoNotCollide() throws Exception {
+        ensureUser();
+        authenticate();
+        Long projectId = projectService.create(new ProjectRequest("tag race", null)).getId();
+        Long taskId = taskService.create(projectId, new TaskRequest("tags", null, null, null, null, null, null)).getId();
+
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Set<String> tags = t % 2 == 0 ? Set.of("a", "b") : Set.of("b", "c");
+            futures.add(pool.submit(() -> {
+                authenticate();
+                for (int i = 0; i < 10; i++) {
+                    taskService.update(taskId, new TaskUpdateRequest(Optional.empty(), Optional.empty(), Optional.empty(),
+                            Optional.empty(), Optional.empty(), Optional.empty(), Optional.of(tags), Optional.empty()));
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertThat(taskRepository.findTags(taskId)).isIn(Set.of("a", "b"), Set.of("b", "c"));
+    }
+
+    /** Read-modify-write with the version as guard; retries on 409 like a well-behaved client. */
+    private void incrementTitle(Long taskId) {
+        while (true) {
+            Task current = taskRepository.findById(taskId).orElseThrow();
+            int next = Integer.parseInt(current.getTitle()) + 1;
+            try {
+                taskService.update(taskId, new TaskUpdateRequest(Optional.of(String.valueOf(next)), Optional.empty(),
+                        Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty(),
+                        Optional.of(current.getVersion())));
+                return;
+            } catch (ConflictException retry) {
+                // another writer won; re-read and try again
+            }
+        }
+    }
+
+    private void ensureUser() {
+        if (!userRepository.existsByEmail(EMAIL)) {
+            User user = new User();
+            user.setEmail(EMAIL);
+            user.setPassword("unused");
+            user.setDisplayName("concurrency");
+            userRepository.save(user);
+        }
+    }
+
+    private void authenticate() {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(EMAIL, null));
+    }
+}
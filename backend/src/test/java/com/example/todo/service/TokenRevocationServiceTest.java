@@ -0,0 +1,111 @@
+package com.example.todo.service;
+
+import com.example.todo.config.JwtService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class TokenRevocationServiceTest {
+
+    @Autowired
+    private TokenRevocationService revocationService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void revokedTokenIsRejectedAndOthersAreNot() {
+        String subject = unique("revoke");
+        String jti = UUID.randomUUID().toString();
+        Instant issuedAt = Instant.now();
+
+        revocationService.revoke(jti, issuedAt.plus(JwtService.TOKEN_LIFETIME));
+
+        assertThat(revocationService.isRevoked(jti, subject, issuedAt)).isTrue();
+        assertThat(revocationService.isRevoked(UUID.randomUUID().toString(), subject, issuedAt)).isFalse();
+    }
+
+    @Test
+    void revokingTheSameTokenTwiceIsHarmless() {
+        String jti = UUID.randomUUID().toString();
+        Instant issuedAt = Instant.now();
+
+        revocationService.revoke(jti, issuedAt.plus(JwtService.TOKEN_LIFETIME));
+        revocationService.revoke(jti, issuedAt.plus(JwtService.TOKEN_LIFETIME));
+
+        assertThat(revocationService.isRevoked(jti, unique("twice"), issuedAt)).isTrue();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM revoked_tokens WHERE id = ?", Integer.class, jti))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void signOutEverywhereSparesTokensIssuedInTheSameSecond() {
+        String subject = unique("everywhere");
+        Instant before = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+
+        revocationService.revokeAll(subject);
+        // iat has whole-second precision, so a token signed right after the call may carry the same second
+        Instant sameSecond = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+
+        assertThat(revocationService.isRevoked(null, subject, before.minusSeconds(1))).isTrue();
+        assertThat(revocationService.isRevoked(UUID.randomUUID().toString(), subject, before.minusSeconds(1))).isTrue();
+        assertThat(revocationService.isRevoked(null, subject, sameSecond)).isFalse();
+        assertThat(revocationService.isRevoked(null, subject, sameSecond.plusSeconds(1))).isFalse();
+        assertThat(revocationService.isRevoked(null, unique("other"), before.minusSeconds(1))).isFalse();
+    }
+
+    @Test
+    void otherNodeSeesRevocationAfterSync() {
+        TokenRevocationService otherNode = new TokenRevocationService(jdbcTemplate, 1_000, 0.01);
+        otherNode.sync();
+        String jti = UUID.randomUUID().toString();
+        String subject = unique("sync");
+        Instant issuedAt = Instant.now().minusSeconds(1);
+
+        revocationService.revoke(jti, issuedAt.plus(JwtService.TOKEN_LIFETIME));
+        revocationService.revokeAll(subject);
+        assertThat(otherNode.isRevoked(jti, unique("sync"), issuedAt)).isFalse();
+        assertThat(otherNode.isRevoked(null, subject, issuedAt)).isFalse();
+
+        otherNode.sync();
+        assertThat(otherNode.isRevoked(jti, unique("sync"), issuedAt)).isTrue();
+        assertThat(otherNode.isRevoked(null, subject, issuedAt)).isTrue();
+    }
+
+    @Test
+    void concurrentSignOutEverywhereDoesNotFail() throws Exception {
+        String subject = unique("race");
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(pool.submit(() -> revocationService.revokeAll(subject)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM revoked_tokens WHERE id = ?", Integer.class,
+                "sub:" + subject)).isEqualTo(1);
+    }
+
+    private static String unique(String name) {
+        return name + "-" + UUID.randomUUID() + "@example.com";
+    }
+}
@@ -23,6 +23,7 @@ export interface Task {
   archived: boolean;
   createdAt: string;
   updatedAt?: string;
+  version?: number;
 }
 
 export interface Page<T> {
@@ -50,6 +51,17 @@ export async function listProjects() {
   return data;
 }
 
+export interface TaskCounts {
+  open: number;
+  done: number;
+  overdue: number;
+}
+
+export async function listProjectsWithCounts() {
+  const { data } = await client.get<(Project & { taskCounts: TaskCounts })[]>('/projects', { params: { counts: true } });
+  return data;
+}
+
 export async function createProject(payload: { name: string; description?: string }) {
   const { data } = await client.post<Project>('/projects', payload);
   return data;
@@ -62,6 +74,7 @@ export interface TaskQuery {
   page?: number;
   size?: number;
   sort?: string;
+  fields?: string;
 }
 
 export async function listTasks(projectId: number, query: TaskQuery) {
@@ -79,10 +92,120 @@ export async function updateTask(taskId: number, payload: Partial<Task>) {
   return data;
 }
 
+export async function changeTaskTags(taskId: number, payload: { add?: string[]; remove?: string[] }) {
+  const { data } = await client.patch<Task>(`/tasks/${taskId}/tags`, payload);
+  return data;
+}
+
+/** Drop a task between two neighbours; omit one side to move it to the top or bottom. */
+export async function moveTask(taskId: number, payload: { beforeId?: number; afterId?: number }) {
+  const { data } = await client.post<Task>(`/tasks/${taskId}/move`, payload);
+  return data;
+}
+
 export async function archiveTask(taskId: number) {
   await client.post(`/tasks/${taskId}/archive`);
 }
 
+export async function listArchivedTasks(projectId: number, query: { page?: number; size?: number } = {}) {
+  const { data } = await client.get<Page<Task>>(`/projects/${projectId}/archived-tasks`, { params: query });
+  return data;
+}
+
+export async function restoreTask(taskId: number) {
+  const { data } = await client.post<Task>(`/archived-tasks/${taskId}/restore`);
+  return data;
+}
+
+export interface CursorPage<T> {
+  content: T[];
+  nextCursor: string | null;
+}
+
+export async function listAgenda(query: { from?: string; to?: string; cursor?: string; size?: number } = {}) {
+  const { data } = await client.get<CursorPage<Task>>('/agenda', { params: query });
+  return data;
+}
+
+export interface Board {
+  projectId: number;
+  columns: { status: TaskStatus; total: number; tasks: Task[]; nextCursor: string | null }[];
+}
+
+export async function getBoard(projectId: number, size = 20) {
+  const { data } = await client.get<Board>(`/projects/${projectId}/board`, { params: { size } });
+  return data;
+}
+
+export async function loadBoardColumn(projectId: number, status: TaskStatus, cursor: string, size = 20) {
+  const { data } = await client.get<CursorPage<Task>>(`/projects/${projectId}/board/${status}`, { params: { cursor, size } });
+  return data;
+}
+
+export interface GlobalSearchResult {
+  totalHits: number;
+  projects: { projectId: number; projectName: string; hits: number; tasks: Task[] }[];
+}
+
+export async function searchAllTasks(query: {
+  keyword?: string;
+  status?: TaskStatus;
+  tags?: string[];
+  dueFrom?: string;
+  dueTo?: string;
+  perProject?: number;
+} = {}) {
+  const { data } = await client.get<GlobalSearchResult>('/search', { params: query });
+  return data;
+}
+
+export interface TaskStats {
+  bucket: 'DAY' | 'WEEK';
+  from: string;
+  to: string;
+  points: { start: string; created: number; completed: number }[];
+}
+
+export async function getTaskStats(query: { projectId?: number; from?: string; to?: string; bucket?: 'DAY' | 'WEEK' } = {}) {
+  const { data } = await client.get<TaskStats>('/stats/tasks', { params: query });
+  return data;
+}
+
+export async function suggestTags(prefix: string, limit = 10) {
+  const { data } = await client.get<{ tag: string; count: number }[]>('/tags/suggest', { params: { prefix, limit } });
+  return data;
+}
+
+export interface Attachment {
+  id: number;
+  taskId: number;
+  fileName: string;
+  contentType: string;
+  size: number;
+  createdAt: string;
+}
+
+export async function listAttachments(taskId: number) {
+  const { data } = await client.get<Attachment[]>(`/tasks/${taskId}/attachments`);
+  return data;
+}
+
+export async function uploadAttachment(taskId: number, file: File) {
+  const form = new FormData();
+  form.append('file', file);
+  const { data } = await client.post<Attachment>(`/tasks/${taskId}/attachments`, form);
+  return data;
+}
+
+export async function downloadAttachment(attachmentId: number) {
+  const { data } = await client.get<Blob>(`/attachments/${attachmentId}`, { responseType: 'blob' });
+  return data;
+}
+
+export async function deleteAttachment(attachmentId: number) {
+  await client.delete(`/attachments/${attachmentId}`);
+}
+
 export async function deleteTask(taskId: number) {
   await client.delete(`/tasks/${taskId}`);
 }
@@ -127,6 +250,17 @@ export async function updateProfile(payload: { displayName: string; avatarUrl?:
   return data;
 }
 
+/** Revokes the current token on the server (best effort) and forgets it locally. */
 export function logout() {
+  const token = localStorage.getItem('auth_token');
+  if (token) {
+    client.post('/auth/logout', null, { headers: { Authorization: `Bearer ${token}` } }).catch(() => undefined);
+  }
+  localStorage.removeItem('auth_token');
+}
+
+/** Revokes every token of the current user, on all devices. */
+export async function logoutEverywhere() {
+  await client.post('/auth/logout-all');
   localStorage.removeItem('auth_token');
 }